@@ -1,5 +1,6 @@
 package com.dm.taskapp.account;
 
+import com.dm.taskapp.app.IdGeneration;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -22,7 +23,7 @@ public class Account implements UserDetails {
     @SequenceGenerator(
             name = "account_sequence",
             sequenceName = "account_sequence",
-            allocationSize = 1
+            allocationSize = IdGeneration.BLOCK_SIZE
     )
     @Id
     @GeneratedValue(
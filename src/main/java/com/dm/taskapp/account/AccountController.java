@@ -10,9 +10,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/account")
@@ -35,6 +38,25 @@ public class AccountController {
         return ResponseEntity.ok(accountService.getAllUsers());
     }
 
+    @GetMapping("/suggest")
+    @Operation(
+            tags = "Account management",
+            summary = "Suggest users for type-ahead",
+            description = "Accounts whose name or email has a word starting like, or close to, the query. " +
+                    "Queries shorter than 2 characters return an empty list.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Get matching users, closest first"),
+                    @ApiResponse(responseCode = "400", description = "Wrong size", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Has no authority", content = @Content),
+                    @ApiResponse(responseCode = "503", description = "The query took too long, retry with the next keystroke", content = @Content)
+            },
+            security = @SecurityRequirement(name = "BearerJWT")
+    )
+    public ResponseEntity<List<AccountInfo>> suggestAccounts(@RequestParam String q,
+                                                             @RequestParam Optional<Integer> size){
+        return ResponseEntity.ok(accountService.suggest(q, size.orElse(10)));
+    }
+
     @GetMapping("/{username}")
     @Operation(
             tags = "Account management",
@@ -0,0 +1,6 @@
+package com.dm.taskapp.account;
+
+public interface AccountIdentity {
+    Long getId();
+    String getEmail();
+}
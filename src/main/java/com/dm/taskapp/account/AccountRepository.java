@@ -1,13 +1,62 @@
 package com.dm.taskapp.account;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
+    String BY_EMAIL_CACHE = "accountsByEmail";
+    String BY_ID_CACHE = "accountsById";
+
+    @Cacheable(cacheNames = BY_EMAIL_CACHE, unless = "#result == null")
     Optional<Account> findByEmail(String email);
+
+    @Override
+    @Cacheable(cacheNames = BY_ID_CACHE, unless = "#result == null")
+    Optional<Account> findById(Long id);
+
     Optional<Account> findByName(String name);
+
+    @Query("select a.id as id, a.email as email from Account a")
+    List<AccountIdentity> findAllIdentities();
+
+    /**
+     * Accounts whose name or email contains a word that starts like, or is close to, the
+     * query, nearest first. Each column is searched on its own, so its trigram GiST index
+     * returns the nearest {@code limit} rows already ordered; the two short lists are then
+     * merged, keeping the better distance of an account found by both.
+     */
+    @Query(value = "select id, name, email from (" +
+            "select distinct on (id) id, name, email, distance from (" +
+            "(select a.id, a.name, a.email, :query <<-> a.name as distance from account a " +
+            "where :query <% a.name order by :query <<-> a.name limit :limit) " +
+            "union all " +
+            "(select a.id, a.name, a.email, :query <<-> a.email as distance from account a " +
+            "where :query <% a.email order by :query <<-> a.email limit :limit)" +
+            ") matches order by id, distance" +
+            ") nearest order by distance, id limit :limit", nativeQuery = true)
+    List<AccountSummary> suggest(String query, int limit);
+
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = BY_EMAIL_CACHE, key = "#p0.email", condition = "#p0.email != null"),
+            @CacheEvict(cacheNames = BY_ID_CACHE, key = "#p0.id", condition = "#p0.id != null")
+    })
+    <S extends Account> S save(S account);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = BY_EMAIL_CACHE, key = "#p0.email", condition = "#p0.email != null"),
+            @CacheEvict(cacheNames = BY_ID_CACHE, key = "#p0.id", condition = "#p0.id != null")
+    })
+    void delete(Account account);
+}
@@ -1,8 +1,10 @@
 package com.dm.taskapp.account;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface AccountService {
     AccountInfo getUserByName(String username);
     Collection<AccountInfo> getAllUsers();
+    List<AccountInfo> suggest(String query, int size);
 }
@@ -1,17 +1,21 @@
 package com.dm.taskapp.account;
 
+import com.dm.taskapp.app.Autocomplete;
 import com.dm.taskapp.exceptions.ApiException;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
+import java.util.List;
 
 @Service
 @AllArgsConstructor
 public class AccountServiceImpl implements AccountService{
     private final AccountRepository accountRepository;
     private final AccountMapper accountConvector;
+    private final Autocomplete autocomplete;
 
     @Override
     public AccountInfo getUserByName(String name) {
@@ -26,4 +30,17 @@ public class AccountServiceImpl implements AccountService{
                 .map(accountConvector)
                 .toList();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AccountInfo> suggest(String query, int size) {
+        autocomplete.checkSize(size);
+        if (autocomplete.isTooShort(query)){
+            return List.of();
+        }
+        autocomplete.applyTimeout();
+        return accountRepository.suggest(query.strip(), size).stream()
+                .map(account -> new AccountInfo(account.getId(), account.getName(), account.getEmail()))
+                .toList();
+    }
 }
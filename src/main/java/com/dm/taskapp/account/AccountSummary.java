@@ -0,0 +1,10 @@
+package com.dm.taskapp.account;
+
+/**
+ * Projection for the account suggestion query.
+ */
+public interface AccountSummary {
+    Long getId();
+    String getName();
+    String getEmail();
+}
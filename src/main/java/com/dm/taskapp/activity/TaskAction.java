@@ -0,0 +1,11 @@
+package com.dm.taskapp.activity;
+
+public enum TaskAction {
+    CREATED,
+    UPDATED,
+    DELETED,
+    ASSIGNED,
+    UNASSIGNED,
+    STATUS_CHANGED,
+    PRIORITY_CHANGED
+}
@@ -0,0 +1,22 @@
+package com.dm.taskapp.activity;
+
+import java.time.Instant;
+
+/**
+ * One entry of a task's history: who did what and when. {@code details} holds the new
+ * value where there is one: the title of a created or updated task, the status, the
+ * priority, or the id of the account the task was assigned to or taken from.
+ */
+public record TaskActivity(
+        Long id,
+        Long taskId,
+        Long accountId,
+        TaskAction action,
+        String details,
+        Instant createdAt) {
+
+    public static TaskActivity of(Long taskId, Long accountId, TaskAction action, Object details) {
+        return new TaskActivity(null, taskId, accountId, action,
+                details == null ? null : details.toString(), Instant.now());
+    }
+}
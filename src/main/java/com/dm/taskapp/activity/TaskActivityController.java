@@ -0,0 +1,53 @@
+package com.dm.taskapp.activity;
+
+import com.dm.taskapp.app.CursorPage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/task")
+@Tag(name = "Task activity")
+public class TaskActivityController {
+    private final TaskActivityService taskActivityService;
+
+    @GetMapping("/{taskId}/activity")
+    @Operation(
+            summary = "Get Task Activity",
+            description = "Endpoint to retrieve the history of a task: who created, changed, assigned or deleted it and when, newest first. " +
+                    "Entries are written in the background and appear shortly after the change.",
+            parameters = {
+                    @Parameter(name = "taskId", description = "ID of the task", required = true),
+                    @Parameter(name = "cursor", description = "Optional. Cursor from the 'nextCursor' of the previous page. Omit to start from the newest entry."),
+                    @Parameter(name = "size", description = "Optional. Number of items per page (default 20, at most 100).")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Activity retrieved successfully",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = CursorPage.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or size specified", content = @Content)
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public ResponseEntity<CursorPage<TaskActivity>> getActivity(
+            @PathVariable Long taskId,
+            @RequestParam Optional<String> cursor,
+            @RequestParam Optional<Integer> size
+    ) {
+        return ResponseEntity.ok(taskActivityService.readByTask(taskId, cursor.orElse(null), size.orElse(20)));
+    }
+}
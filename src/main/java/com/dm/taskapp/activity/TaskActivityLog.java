@@ -0,0 +1,125 @@
+package com.dm.taskapp.activity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes {@link TaskActivity} entries off the request path. Once the transaction of a
+ * change has committed (or right away without one) the entry goes into a queue of
+ * {@code app.activity.queue-capacity} entries, and a single writer thread inserts whatever
+ * has piled up with one batch of up to {@value #MAX_BATCH} rows. The queue is written out
+ * on shutdown.
+ * <p>
+ * A full queue does not slow down the requests: the entry is dropped and counted in
+ * {@code activity.dropped}, as are the entries of a batch that could not be written.
+ */
+@Slf4j
+@Component
+public class TaskActivityLog {
+    static final int MAX_BATCH = 500;
+    private static final long POLL_MILLIS = 1000;
+
+    private final TaskActivityRepository taskActivityRepository;
+    private final BlockingQueue<TaskActivity> queue;
+    private final Duration shutdownTimeout;
+    private final Counter droppedFull;
+    private final Counter droppedFailed;
+    private final Thread writer = Thread.ofPlatform()
+            .name("task-activity-writer")
+            .daemon()
+            .unstarted(this::run);
+    private volatile boolean running = true;
+
+    public TaskActivityLog(TaskActivityRepository taskActivityRepository,
+                           @Value("${app.activity.queue-capacity:10000}") int queueCapacity,
+                           @Value("${app.activity.shutdown-timeout:10s}") Duration shutdownTimeout,
+                           MeterRegistry meterRegistry) {
+        this.taskActivityRepository = taskActivityRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.shutdownTimeout = shutdownTimeout;
+        this.droppedFull = dropped(meterRegistry, "queue-full");
+        this.droppedFailed = dropped(meterRegistry, "write-failed");
+        Gauge.builder("activity.queue.size", queue, BlockingQueue::size)
+                .description("Task activity entries waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void record(TaskActivity activity) {
+        if (!queue.offer(activity)){
+            droppedFull.increment();
+            log.warn("Task activity queue is full, dropped {} of task {}", activity.action(), activity.taskId());
+        }
+    }
+
+    /**
+     * Lets the writer empty the queue; the web server has stopped taking requests by now.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(shutdownTimeout.toMillis());
+        if (writer.isAlive()){
+            log.warn("Task activity writer did not finish in {}, {} entries lost", shutdownTimeout, queue.size());
+        }
+    }
+
+    private void run() {
+        List<TaskActivity> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()){
+            try {
+                var first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null){
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Any failure, not only a database one, costs just this batch: an exception escaping here
+     * would end the writer thread and leave the queue to fill up for good.
+     */
+    private void write(List<TaskActivity> batch) {
+        try {
+            taskActivityRepository.insertAll(batch);
+        } catch (RuntimeException e) {
+            droppedFailed.increment(batch.size());
+            log.error("Could not write {} task activity entries", batch.size(), e);
+        }
+    }
+
+    private static Counter dropped(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("activity.dropped")
+                .description("Task activity entries that were not written")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.dm.taskapp.activity;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class TaskActivityRepository {
+    private static final String INSERT = "insert into task_activity (task_id, account_id, action, details, created_at) "
+            + "values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * One JDBC batch, which the driver rewrites into multi-row inserts.
+     */
+    public void insertAll(List<TaskActivity> activities) {
+        jdbcTemplate.batchUpdate(INSERT, activities, activities.size(), (ps, activity) -> {
+            ps.setLong(1, activity.taskId());
+            ps.setObject(2, activity.accountId());
+            ps.setString(3, activity.action().name());
+            ps.setString(4, activity.details());
+            ps.setTimestamp(5, Timestamp.from(activity.createdAt()));
+        });
+    }
+
+    /**
+     * Newest first, keyset on id.
+     */
+    public List<TaskActivity> findByTaskId(Long taskId, long beforeId, int limit) {
+        return jdbcTemplate.query("select id, task_id, account_id, action, details, created_at from task_activity "
+                        + "where task_id = ? and id < ? order by id desc limit ?",
+                this::mapActivity, taskId, beforeId, limit);
+    }
+
+    private TaskActivity mapActivity(ResultSet rs, int rowNum) throws SQLException {
+        return new TaskActivity(
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getObject(3, Long.class),
+                TaskAction.valueOf(rs.getString(4)),
+                rs.getString(5),
+                rs.getTimestamp(6).toInstant());
+    }
+}
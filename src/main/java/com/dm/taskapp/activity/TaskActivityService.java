@@ -0,0 +1,7 @@
+package com.dm.taskapp.activity;
+
+import com.dm.taskapp.app.CursorPage;
+
+public interface TaskActivityService {
+    CursorPage<TaskActivity> readByTask(Long taskId, String cursor, int size);
+}
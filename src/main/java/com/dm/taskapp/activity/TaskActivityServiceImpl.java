@@ -0,0 +1,34 @@
+package com.dm.taskapp.activity;
+
+import com.dm.taskapp.app.CursorPage;
+import com.dm.taskapp.task.TaskCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TaskActivityServiceImpl implements TaskActivityService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final TaskActivityRepository taskActivityRepository;
+
+    /**
+     * Newest first. The history of a deleted task is kept, so an unknown task is an empty
+     * page rather than 404. Entries appear shortly after the change, once the writer ran.
+     */
+    @Override
+    public CursorPage<TaskActivity> readByTask(Long taskId, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE){
+            throw new IllegalArgumentException("Wrong page size");
+        }
+        long beforeId = cursor == null || cursor.isBlank() ? Long.MAX_VALUE : TaskCursor.decode(cursor);
+        List<TaskActivity> rows = taskActivityRepository.findByTaskId(taskId, beforeId, size + 1);
+        if (rows.size() <= size){
+            return new CursorPage<>(rows, null);
+        }
+        var items = rows.subList(0, size);
+        return new CursorPage<>(items, TaskCursor.encode(items.get(size - 1).id()));
+    }
+}
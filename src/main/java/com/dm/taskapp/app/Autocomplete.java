@@ -0,0 +1,51 @@
+package com.dm.taskapp.app;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Limits shared by the type-ahead endpoints, which are called on every keystroke: a capped
+ * number of results and a statement timeout, so a slow query is cancelled by the database
+ * and answered with 503 instead of piling up behind the next keystrokes.
+ */
+@Component
+public class Autocomplete {
+    public static final int MIN_QUERY_LENGTH = 2;
+
+    private final int maxSize;
+    private final String timeoutMillis;
+    private final JdbcTemplate jdbcTemplate;
+
+    public Autocomplete(@Value("${app.suggest.max-size:20}") int maxSize,
+                        @Value("${app.suggest.timeout:200ms}") Duration timeout,
+                        JdbcTemplate jdbcTemplate) {
+        this.maxSize = maxSize;
+        this.timeoutMillis = Long.toString(timeout.toMillis());
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int checkSize(int size) {
+        if (size < 1 || size > maxSize) {
+            throw new IllegalArgumentException("Wrong size");
+        }
+        return size;
+    }
+
+    /**
+     * Shorter input matches almost everything and is not worth a round trip.
+     */
+    public boolean isTooShort(String query) {
+        return query == null || query.strip().length() < MIN_QUERY_LENGTH;
+    }
+
+    /**
+     * Sets the statement timeout for the rest of the current transaction only, so the pooled
+     * connection goes back with its default. Must be called inside a transaction.
+     */
+    public void applyTimeout() {
+        jdbcTemplate.queryForObject("select set_config('statement_timeout', ?, true)", String.class, timeoutMillis);
+    }
+}
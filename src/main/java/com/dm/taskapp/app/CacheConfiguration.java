@@ -0,0 +1,41 @@
+package com.dm.taskapp.app;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfiguration {
+
+    /**
+     * Caffeine caches configured from {@code spring.cache.*}. They are wrapped so that puts and
+     * evictions made inside a transaction only happen after it commits, so a rolled back write
+     * never evicts. Each cache is a {@link LoadGuardedCache}, so a concurrent reader that loaded
+     * the row before the commit cannot re-cache it after the eviction.
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager() {
+            @Override
+            @NonNull
+            protected Cache adaptCaffeineCache(@NonNull String name,
+                                               @NonNull com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new LoadGuardedCache((CaffeineCache) super.adaptCaffeineCache(name, cache));
+            }
+        };
+        caffeine.setCacheSpecification(properties.getCaffeine().getSpec());
+        caffeine.setCacheNames(properties.getCacheNames());
+        caffeine.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
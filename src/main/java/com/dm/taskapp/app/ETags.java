@@ -0,0 +1,39 @@
+package com.dm.taskapp.app;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Strong entity tags built from version data, so a conditional request can be answered
+ * from a version lookup without loading or serializing the resource.
+ */
+public final class ETags {
+    private ETags() {
+    }
+
+    public static String of(Object... parts) {
+        return Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * Weak comparison as {@code If-None-Match} requires: a {@code W/} prefix is ignored and
+     * {@code *} matches any current representation.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null){
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")){
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")){
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)){
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,13 @@
+package com.dm.taskapp.app;
+
+/**
+ * Identifier allocation shared by all entities. Hibernate reserves {@link #BLOCK_SIZE} ids per
+ * sequence round trip (pooled-lo optimizer), so the database sequences must be created with the
+ * same increment. Hibernate refuses to start if the two differ.
+ */
+public final class IdGeneration {
+    public static final int BLOCK_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
@@ -0,0 +1,105 @@
+package com.dm.taskapp.app;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closes the race between a load and an eviction of the same entry: a reader that loaded a row
+ * before a write committed would otherwise put the old row back after the write's eviction,
+ * where it stays until it expires. Values loaded through {@link #get(Object, Callable)}
+ * ({@code @Cacheable(sync = true)}) are taken out again if any eviction ran while they were
+ * loaded; the next read loads them afresh. Counting evictions for the whole cache rather than
+ * per key costs an occasional missed fill, never a stale entry.
+ */
+public class LoadGuardedCache implements Cache {
+    private final CaffeineCache target;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public LoadGuardedCache(CaffeineCache target) {
+        this.target = target;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        return target.get(key);
+    }
+
+    @Override
+    public <T> T get(@NonNull Object key, Class<T> type) {
+        return target.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        ValueWrapper cached = target.get(key);
+        if (cached != null){
+            return (T) cached.get();
+        }
+        long seen = evictions.get();
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null){
+            target.put(key, value);
+            // an eviction that ran after the check is itself ordered after the put
+            if (evictions.get() != seen){
+                target.getNativeCache().asMap().remove(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void put(@NonNull Object key, Object value) {
+        target.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, Object value) {
+        return target.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        evictions.incrementAndGet();
+        target.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        evictions.incrementAndGet();
+        return target.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        evictions.incrementAndGet();
+        target.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        evictions.incrementAndGet();
+        return target.invalidate();
+    }
+}
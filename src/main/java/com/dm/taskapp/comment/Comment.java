@@ -1,6 +1,7 @@
 package com.dm.taskapp.comment;
 
 import com.dm.taskapp.account.Account;
+import com.dm.taskapp.app.IdGeneration;
 import com.dm.taskapp.task.Task;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -18,7 +19,7 @@ public class Comment {
     @SequenceGenerator(
             name = "comment_sequence",
             sequenceName = "comment_sequence",
-            allocationSize = 1
+            allocationSize = IdGeneration.BLOCK_SIZE
     )
     @Id
     @GeneratedValue(
@@ -34,4 +35,7 @@ public class Comment {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id")
     private Account author;
+
+    @Version
+    private Long version;
 }
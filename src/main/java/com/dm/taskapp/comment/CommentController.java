@@ -1,7 +1,9 @@
 package com.dm.taskapp.comment;
 
+import com.dm.taskapp.app.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -42,16 +45,16 @@ public class CommentController {
             responses = {
                     @ApiResponse(responseCode = "201", description = "Comment added successfully",
                             content = @Content(mediaType = "application/json",
-                                    schema = @Schema(implementation = Comment.class))),
+                                    schema = @Schema(implementation = CommentView.class))),
                     @ApiResponse(responseCode = "404", description = "Task not found")
             },
             security = {@SecurityRequirement(name = "BearerJWT")}
     )
-    public ResponseEntity<Comment> addComment(
+    public ResponseEntity<CommentView> addComment(
             @PathVariable Long idTask,
             @RequestParam String text,
             @AuthenticationPrincipal UserDetails userDetails) {
-        Comment comment = commentService.add(idTask, text, userDetails);
+        CommentView comment = commentService.add(idTask, text, userDetails);
         return ResponseEntity.status(HttpStatus.CREATED).body(comment);
     }
 
@@ -62,24 +65,31 @@ public class CommentController {
             parameters = {
                     @Parameter(name = "taskId", description = "ID of the task to get comments for", required = true),
                     @Parameter(name = "page", description = "Optional. Page number (zero-based) to retrieve."),
-                    @Parameter(name = "size", description = "Optional. Number of items per page.")
+                    @Parameter(name = "size", description = "Optional. Number of items per page."),
+                    @Parameter(name = "If-None-Match", in = ParameterIn.HEADER, description = "Optional. ETag of a previously received page.")
             },
             responses = {
                     @ApiResponse(responseCode = "200", description = "Comments retrieved successfully",
                             content = @Content(mediaType = "application/json",
-                                    schema = @Schema(implementation = Comment.class))),
+                                    schema = @Schema(implementation = CommentView.class))),
+                    @ApiResponse(responseCode = "304", description = "Comments have not changed since the ETag in If-None-Match", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Task not found")
             },
             security = {@SecurityRequirement(name = "BearerJWT")}
     )
-    public ResponseEntity<Page<Comment>> getCommentsByTask(
+    public ResponseEntity<Page<CommentView>> getCommentsByTask(
             @PathVariable Long taskId,
             @RequestParam Optional<Integer> page,
-            @RequestParam Optional<Integer> size
+            @RequestParam Optional<Integer> size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ){
         Pageable pageable = PageRequest.of(page.orElse(0), size.orElse(10));
-        Page<Comment> comments = commentService.getByTask(taskId, pageable);
-        return ResponseEntity.ok(comments);
+        String etag = etag(commentService.stampByTask(taskId), pageable);
+        if (ETags.matches(ifNoneMatch, etag)){
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        Page<CommentView> comments = commentService.getByTask(taskId, pageable);
+        return ResponseEntity.ok().eTag(etag).body(comments);
     }
 
     @GetMapping("/author/{accountId}")
@@ -89,24 +99,31 @@ public class CommentController {
             parameters = {
                     @Parameter(name = "accountId", description = "ID of the author to get comments for", required = true),
                     @Parameter(name = "page", description = "Optional. Page number (zero-based) to retrieve."),
-                    @Parameter(name = "size", description = "Optional. Number of items per page.")
+                    @Parameter(name = "size", description = "Optional. Number of items per page."),
+                    @Parameter(name = "If-None-Match", in = ParameterIn.HEADER, description = "Optional. ETag of a previously received page.")
             },
             responses = {
                     @ApiResponse(responseCode = "200", description = "Comments retrieved successfully",
                             content = @Content(mediaType = "application/json",
-                                    schema = @Schema(implementation = Comment.class))),
+                                    schema = @Schema(implementation = CommentView.class))),
+                    @ApiResponse(responseCode = "304", description = "Comments have not changed since the ETag in If-None-Match", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Author not found")
             },
             security = {@SecurityRequirement(name = "BearerJWT")}
     )
-    public ResponseEntity<Page<Comment>> getCommentsByAuthor(
+    public ResponseEntity<Page<CommentView>> getCommentsByAuthor(
             @PathVariable Long accountId,
             @RequestParam Optional<Integer> page,
-            @RequestParam Optional<Integer> size
+            @RequestParam Optional<Integer> size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ){
         Pageable pageable = PageRequest.of(page.orElse(0), size.orElse(10));
-        Page<Comment> comments = commentService.getByAuthor(accountId, pageable);
-        return ResponseEntity.ok(comments);
+        String etag = etag(commentService.stampByAuthor(accountId), pageable);
+        if (ETags.matches(ifNoneMatch, etag)){
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        Page<CommentView> comments = commentService.getByAuthor(accountId, pageable);
+        return ResponseEntity.ok().eTag(etag).body(comments);
     }
 
     @DeleteMapping("/{commentId}")
@@ -129,4 +146,13 @@ public class CommentController {
         commentService.delete(commentId, userDetails);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * The stamp covers the whole set, so the page it is sent with is part of the tag: otherwise
+     * one page's tag would match every other page of the same set.
+     */
+    private static String etag(CommentPageStamp stamp, Pageable pageable) {
+        return ETags.of(pageable.getPageNumber(), pageable.getPageSize(),
+                stamp.getCount(), stamp.getLastId(), stamp.getVersionSum());
+    }
+}
@@ -0,0 +1,27 @@
+package com.dm.taskapp.comment;
+
+import com.dm.taskapp.account.AccountMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Maps a comment to its read model. Only the id of the lazy {@code task} is read, which
+ * Hibernate answers from the foreign key without loading the task.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommentMapper implements Function<Comment, CommentView> {
+    private final AccountMapper accountMapper;
+
+    @Override
+    public CommentView apply(Comment comment) {
+        return new CommentView(
+                comment.getId(),
+                comment.getContent(),
+                comment.getTask() == null ? null : comment.getTask().getId(),
+                comment.getAuthor() == null ? null : accountMapper.apply(comment.getAuthor())
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.dm.taskapp.comment;
+
+/**
+ * Id-only projection of a comment, its author, task and the task's assignee, read from the
+ * {@code comment} and {@code task} rows without touching {@code account}.
+ */
+public interface CommentOwnership {
+    Long getAuthorId();
+    Long getTaskId();
+    Long getAssigneeId();
+}
@@ -0,0 +1,12 @@
+package com.dm.taskapp.comment;
+
+/**
+ * Aggregate over a set of comments that changes whenever one of them is added, edited or
+ * deleted. It is cheap to compute and, together with the page number and size, serves as the
+ * ETag of a page of that set.
+ */
+public interface CommentPageStamp {
+    long getCount();
+    Long getLastId();
+    Long getVersionSum();
+}
@@ -2,11 +2,31 @@ package com.dm.taskapp.comment;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    String STAMP = "select count(c) as count, max(c.id) as lastId, coalesce(sum(c.version), 0) as versionSum "
+            + "from Comment c ";
+
+    @EntityGraph(attributePaths = "author")
     Page<Comment> findByTaskId(Long taskId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "author")
     Page<Comment> findByAuthorId(Long accountId, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("select c.author.id as authorId, t.id as taskId, t.assignee.id as assigneeId "
+            + "from Comment c join c.task t where c.id = :id")
+    Optional<CommentOwnership> findOwnershipById(Long id);
+
+    @Query(STAMP + "where c.task.id = :taskId")
+    CommentPageStamp findStampByTaskId(Long taskId);
+
+    @Query(STAMP + "where c.author.id = :accountId")
+    CommentPageStamp findStampByAuthorId(Long accountId);
+}
@@ -3,10 +3,15 @@ package com.dm.taskapp.comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Flux;
 
 public interface CommentService {
-    Comment add(Long idTask, String text, UserDetails userDetails);
-    Page<Comment> getByTask(Long taskId, Pageable pageable);
-    Page<Comment> getByAuthor(Long accountId, Pageable pageable);
+    CommentView add(Long idTask, String text, UserDetails userDetails);
+    Page<CommentView> getByTask(Long taskId, Pageable pageable);
+    Page<CommentView> getByAuthor(Long accountId, Pageable pageable);
+    CommentPageStamp stampByTask(Long taskId);
+    CommentPageStamp stampByAuthor(Long accountId);
+    Flux<CommentView> streamByTask(Long taskId);
+    Flux<CommentView> streamByAuthor(Long accountId);
     void delete(Long idComment, UserDetails userDetails);
 }
\ No newline at end of file
@@ -4,28 +4,41 @@ import com.dm.taskapp.account.Account;
 import com.dm.taskapp.account.AccountRepository;
 import com.dm.taskapp.exceptions.ApiException;
 import com.dm.taskapp.exceptions.ResourceNotFound;
+import com.dm.taskapp.feed.ChangeEvent;
+import com.dm.taskapp.security.AccountPrincipal;
+import com.dm.taskapp.task.Task;
 import com.dm.taskapp.task.TaskRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 
 import java.util.Objects;
 
+import static com.dm.taskapp.feed.ChangeType.COMMENT_ADDED;
+import static com.dm.taskapp.feed.ChangeType.COMMENT_DELETED;
+
 @Service
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService{
     private final CommentRepository commentRepository;
     private final TaskRepository taskRepository;
     private final AccountRepository accountRepository;
+    private final CommentMapper commentMapper;
+    private final CommentStreamRepository commentStreamRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    public Comment add(Long idTask, String text, UserDetails userDetails){
+    @Transactional
+    public CommentView add(Long idTask, String text, UserDetails userDetails){
         var task = taskRepository.findById(idTask)
                 .orElseThrow(()-> new ResourceNotFound("Task not found"));
-        var account = findAccount(userDetails.getUsername());
+        var account = currentAccount(userDetails);
 
         var comment = Comment.builder()
                 .author(account)
@@ -33,30 +46,74 @@ public class CommentServiceImpl implements CommentService{
                 .task(task)
                 .build();
 
-        return commentRepository.save(comment);
+        var saved = commentRepository.save(comment);
+        eventPublisher.publishEvent(ChangeEvent.ofComment(COMMENT_ADDED, idTask, saved.getId(), assigneeIdOf(task)));
+
+        return commentMapper.apply(saved);
+    }
+
+    /**
+     * The author is fetched together with the comments, so a page costs one data and one
+     * count query whatever its size.
+     */
+    @Override
+    public Page<CommentView> getByTask(Long taskId, Pageable pageable){
+        return commentRepository.findByTaskId(taskId, pageable).map(commentMapper);
+    }
+
+    @Override
+    public Page<CommentView> getByAuthor(Long accountId, Pageable pageable){
+        return commentRepository.findByAuthorId(accountId, pageable).map(commentMapper);
+    }
+
+    @Override
+    public CommentPageStamp stampByTask(Long taskId){
+        return commentRepository.findStampByTaskId(taskId);
     }
 
     @Override
-    public Page<Comment> getByTask(Long taskId, Pageable pageable){
-        return commentRepository.findByTaskId(taskId, pageable);
+    public CommentPageStamp stampByAuthor(Long accountId){
+        return commentRepository.findStampByAuthorId(accountId);
     }
 
     @Override
-    public Page<Comment> getByAuthor(Long accountId, Pageable pageable){
-        return commentRepository.findByAuthorId(accountId, pageable);
+    public Flux<CommentView> streamByTask(Long taskId){
+        return commentStreamRepository.findByTaskId(taskId);
     }
 
     @Override
+    public Flux<CommentView> streamByAuthor(Long accountId){
+        return commentStreamRepository.findByAuthorId(accountId);
+    }
+
+    @Override
+    @Transactional
     public void delete(Long idComment, UserDetails userDetails){
-        var account = findAccount(userDetails.getUsername());
-        var comment = commentRepository.findById(idComment)
+        var accountId = currentAccountId(userDetails);
+        var ownership = commentRepository.findOwnershipById(idComment)
                 .orElseThrow(()-> new ResourceNotFound("Comment not found"));
 
-        if (!Objects.equals(account.getId(), comment.getAuthor().getId())){
+        if (!Objects.equals(accountId, ownership.getAuthorId())){
             throw new ApiException("You not have permissions for delete comment", HttpStatus.FORBIDDEN);
         }
 
         commentRepository.deleteById(idComment);
+        eventPublisher.publishEvent(ChangeEvent.ofComment(COMMENT_DELETED, ownership.getTaskId(), idComment,
+                ownership.getAssigneeId()));
+    }
+
+    private static Long assigneeIdOf(Task task){
+        return task.getAssignee() == null ? null : task.getAssignee().getId();
+    }
+
+    private Long currentAccountId(UserDetails userDetails){
+        Long id = AccountPrincipal.idOf(userDetails);
+        return id != null ? id : findAccount(userDetails.getUsername()).getId();
+    }
+
+    private Account currentAccount(UserDetails userDetails){
+        Long id = AccountPrincipal.idOf(userDetails);
+        return id != null ? accountRepository.getReferenceById(id) : findAccount(userDetails.getUsername());
     }
 
     private Account findAccount(String email){
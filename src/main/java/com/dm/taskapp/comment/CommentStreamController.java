@@ -0,0 +1,60 @@
+package com.dm.taskapp.comment;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(value = "/api/v1/stream/comment", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@Tag(name = "Comment streaming")
+public class CommentStreamController {
+    private final CommentService commentService;
+
+    @GetMapping("/task/{taskId}")
+    @Operation(
+            summary = "Stream Comments by Task",
+            description = "Endpoint to stream all comments of a specific task as newline-delimited JSON, ordered by ID",
+            parameters = {
+                    @Parameter(name = "taskId", description = "ID of the task to get comments for", required = true)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Comments streamed successfully",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = CommentView.class)))
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public Flux<CommentView> streamCommentsByTask(@PathVariable Long taskId) {
+        return commentService.streamByTask(taskId);
+    }
+
+    @GetMapping("/author/{accountId}")
+    @Operation(
+            summary = "Stream Comments by Author",
+            description = "Endpoint to stream all comments of a specific author as newline-delimited JSON, ordered by ID",
+            parameters = {
+                    @Parameter(name = "accountId", description = "ID of the author to get comments for", required = true)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Comments streamed successfully",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = CommentView.class)))
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public Flux<CommentView> streamCommentsByAuthor(@PathVariable Long accountId) {
+        return commentService.streamByAuthor(accountId);
+    }
+}
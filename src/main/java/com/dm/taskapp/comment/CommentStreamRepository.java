@@ -0,0 +1,47 @@
+package com.dm.taskapp.comment;
+
+import com.dm.taskapp.account.AccountInfo;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking comment reads over R2DBC, with the author summary joined in. Rows are fetched
+ * from a server-side portal {@value #FETCH_SIZE} at a time, as the subscriber requests them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CommentStreamRepository {
+    static final int FETCH_SIZE = 500;
+    private static final String SELECT = "select c.id, c.content, c.task_id, a.id as author_id, a.name, a.email "
+            + "from comment c left join account a on a.id = c.account_id ";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<CommentView> findByTaskId(Long taskId) {
+        return findBy("c.task_id", taskId);
+    }
+
+    public Flux<CommentView> findByAuthorId(Long accountId) {
+        return findBy("c.account_id", accountId);
+    }
+
+    private Flux<CommentView> findBy(String column, Long id) {
+        return databaseClient.sql(SELECT + "where " + column + " = :id order by c.id")
+                .bind("id", id)
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(CommentStreamRepository::toView)
+                .all();
+    }
+
+    private static CommentView toView(Readable row) {
+        Long authorId = row.get("author_id", Long.class);
+        return new CommentView(
+                row.get("id", Long.class),
+                row.get("content", String.class),
+                row.get("task_id", Long.class),
+                authorId == null ? null : new AccountInfo(authorId, row.get("name", String.class), row.get("email", String.class)));
+    }
+}
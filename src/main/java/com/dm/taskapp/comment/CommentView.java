@@ -0,0 +1,10 @@
+package com.dm.taskapp.comment;
+
+import com.dm.taskapp.account.AccountInfo;
+
+public record CommentView(
+        Long id,
+        String content,
+        Long taskId,
+        AccountInfo author) {
+}
@@ -2,12 +2,21 @@ package com.dm.taskapp.exceptions;
 
 import com.dm.taskapp.app.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLTransientConnectionException;
+
 @Slf4j
 @RestControllerAdvice
 public class ApiExceptionHandler {
@@ -27,16 +36,68 @@ public class ApiExceptionHandler {
         log.error(e.getMessage(), e);
         return new ResponseEntity<>(new ApiResponse(e.getMessage()), HttpStatus.FORBIDDEN);
     }
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    public ResponseEntity<ApiResponse> catchSyncTokenExpiredException(SyncTokenExpiredException e){
+        log.warn(e.getMessage());
+        return new ResponseEntity<>(new ApiResponse(e.getMessage()), HttpStatus.GONE);
+    }
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponse> catchIllegalArgumentException(IllegalArgumentException e){
         log.error(e.getMessage(), e);
         return new ResponseEntity<>(new ApiResponse(e.getMessage()), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse> catchOptimisticLockingFailureException(ObjectOptimisticLockingFailureException e){
+        log.error(e.getMessage(), e);
+        return new ResponseEntity<>(new ApiResponse("The resource was changed concurrently, please retry"), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ApiResponse> catchQueryTimeoutException(QueryTimeoutException e){
+        log.warn(e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiResponse("The query took too long, please retry"));
+    }
+
+    /**
+     * The pool had no connection to give within its timeout. Other resource failures keep
+     * their default handling.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ApiResponse> catchConnectionFailure(NestedRuntimeException e){
+        if (!isConnectionTimeout(e)){
+            throw e;
+        }
+        log.warn(e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiResponse("Server is busy, please retry"));
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiResponse> catchServiceBusyException(ServiceBusyException e){
+        log.warn(e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                // Set explicitly: the export that gets refused only produces NDJSON
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ApiResponse(e.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse> catchMethodArgumentNotValidException(MethodArgumentNotValidException e){
         log.error(e.getMessage(), e);
         return new ResponseEntity<>(new ApiResponse(e.getMessage()), HttpStatus.BAD_REQUEST);
     }
 
+    private static boolean isConnectionTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()){
+            if (cause instanceof SQLTransientConnectionException){
+                return true;
+            }
+        }
+        return false;
+    }
 }
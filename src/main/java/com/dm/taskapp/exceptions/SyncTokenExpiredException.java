@@ -0,0 +1,11 @@
+package com.dm.taskapp.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.GONE)
+public class SyncTokenExpiredException extends RuntimeException{
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,36 @@
+package com.dm.taskapp.feed;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A committed change, pushed to the subscribers of the task. It only says what changed;
+ * clients read the task or comments again, with their ETag, when they need the data.
+ * {@code assigneeIds} holds the assignee before and after the change, so both the old and
+ * the new assignee's "assigned to me" feeds see it.
+ */
+public record ChangeEvent(
+        ChangeType type,
+        Long taskId,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long commentId,
+        @JsonIgnore Set<Long> assigneeIds) {
+
+    public static ChangeEvent ofTask(ChangeType type, Long taskId, Long... assigneeIds) {
+        return new ChangeEvent(type, taskId, null, toSet(assigneeIds));
+    }
+
+    public static ChangeEvent ofComment(ChangeType type, Long taskId, Long commentId, Long assigneeId) {
+        return new ChangeEvent(type, taskId, commentId, toSet(assigneeId));
+    }
+
+    private static Set<Long> toSet(Long... ids) {
+        return Arrays.stream(ids)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,273 @@
+package com.dm.taskapp.feed;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Pushes {@link ChangeEvent}s to Server-Sent Events subscribers once the transaction that
+ * produced them has committed (or right away when there was no transaction).
+ * <p>
+ * The committing thread only puts the event into each matching subscriber's queue of
+ * {@code app.feed.buffer-size} events; writing to the connection happens on one of
+ * {@code app.feed.sender-threads} sender threads, taken by each subscriber that has something
+ * to send. A subscriber whose queue is full, or whose send has not finished within
+ * {@code app.feed.send-timeout}, is too slow to keep up: it is dropped and its stream closed,
+ * and the client reconnects and reads the current state again. A stalled send itself cannot
+ * be cut short (Tomcat retries an interrupted write until
+ * {@code server.tomcat.connection-timeout}), so a spare sender thread stands in for it
+ * meanwhile, up to {@code app.feed.spare-sender-threads} of them. The default buffer holds the
+ * events of a whole bulk update (up to 1000 tasks) for one subscriber; queues are linked so
+ * idle subscribers take no space for it.
+ */
+@Slf4j
+@Component
+public class ChangeFeed {
+    private static final int MAX_BATCH = 256;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    /**
+     * Platform threads, not virtual ones: the emitter writes inside a synchronized method,
+     * so a send stalled on a full socket would pin its carrier thread and hold up everyone.
+     */
+    private final ThreadPoolExecutor sender;
+    private final int maxSenderThreads;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final Counter evictions;
+
+    public ChangeFeed(@Value("${app.feed.buffer-size:1024}") int bufferSize,
+                      @Value("${app.feed.timeout:30m}") Duration timeout,
+                      @Value("${app.feed.sender-threads:4}") int senderThreads,
+                      @Value("${app.feed.spare-sender-threads:4}") int spareSenderThreads,
+                      @Value("${app.feed.send-timeout:PT5S}") Duration sendTimeout,
+                      MeterRegistry meterRegistry) {
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().name("feed-sender-", 0).daemon().factory());
+        this.maxSenderThreads = senderThreads + spareSenderThreads;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.evictions = Counter.builder("feed.evictions")
+                .description("Subscribers dropped because they did not keep up")
+                .register(meterRegistry);
+        Gauge.builder("feed.subscribers", subscribers, Set::size)
+                .description("Open change feed connections")
+                .register(meterRegistry);
+        Gauge.builder("feed.sender.threads", sender, ThreadPoolExecutor::getPoolSize)
+                .description("Change feed sender threads, spare ones included")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Predicate<ChangeEvent> filter) {
+        var subscriber = new Subscriber(createEmitter(timeoutMillis), filter);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // sends the response headers now rather than with the first change
+        subscriber.offer(SseEmitter.event().comment("subscribed"));
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(ChangeEvent event) {
+        long id = sequence.incrementAndGet();
+        for (Subscriber subscriber : subscribers){
+            if (subscriber.filter.test(event)){
+                subscriber.offer(SseEmitter.event()
+                        .id(Long.toString(id))
+                        .name(event.type().name())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and finds the ones that are gone.
+     */
+    @Scheduled(fixedDelayString = "${app.feed.heartbeat:PT15S}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("")));
+    }
+
+    /**
+     * Drops the subscribers whose send has taken longer than {@code app.feed.send-timeout}.
+     * Runs every {@code app.feed.send-timeout}, so a stall is found within twice that. A send
+     * can also stall for a subscriber already dropped for a full queue; its thread is replaced
+     * all the same.
+     */
+    @Scheduled(fixedDelayString = "${app.feed.send-timeout:PT5S}")
+    public void evictStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : sending){
+            if (subscriber.stalled(now) && subscribers.remove(subscriber)){
+                evictions.increment();
+                log.warn("Change feed subscriber dropped, send stalled for more than {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                subscriber.close();
+            }
+        }
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::close);
+        sender.shutdown();
+    }
+
+    /**
+     * Adds a thread in place of one stuck in a stalled send, unless all
+     * {@code app.feed.spare-sender-threads} are in use already.
+     */
+    private synchronized boolean addSenderThread() {
+        int size = sender.getCorePoolSize();
+        if (size >= maxSenderThreads){
+            return false;
+        }
+        sender.setMaximumPoolSize(size + 1);
+        sender.setCorePoolSize(size + 1);
+        return true;
+    }
+
+    private synchronized void removeSenderThread() {
+        int size = sender.getCorePoolSize();
+        sender.setCorePoolSize(size - 1);
+        sender.setMaximumPoolSize(size - 1);
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Predicate<ChangeEvent> filter;
+        private final BlockingQueue<SseEventBuilder> queue = new LinkedBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean closed;
+        private long sendStarted;
+        private boolean replaced;
+
+        Subscriber(SseEmitter emitter, Predicate<ChangeEvent> filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        void offer(SseEventBuilder event) {
+            if (queue.offer(event)){
+                drainLater();
+            } else if (subscribers.remove(this)){
+                evictions.increment();
+                log.warn("Change feed subscriber dropped, {} events behind", queue.size());
+                queue.clear();
+                close();
+            }
+        }
+
+        private void drainLater() {
+            if (draining.compareAndSet(false, true)){
+                sender.execute(this::drain);
+            }
+        }
+
+        /**
+         * Writes whatever is queued with one flush per batch, so a burst of events (a bulk
+         * update) costs a few writes instead of one per event. Completing the stream is left
+         * to this loop as well: it waits for a send in progress, so doing it elsewhere would
+         * hold up the caller or another sender thread.
+         */
+        private void drain() {
+            try {
+                var batch = new ArrayList<SseEventBuilder>(MAX_BATCH);
+                while (!closed && queue.drainTo(batch, MAX_BATCH) > 0){
+                    var data = new LinkedHashSet<DataWithMediaType>();
+                    batch.forEach(event -> data.addAll(event.build()));
+                    sendStarted();
+                    emitter.send(data);
+                    sendFinished();
+                    batch.clear();
+                }
+                if (closed && completed.compareAndSet(false, true)){
+                    queue.clear();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+                queue.clear();
+                completed.set(true);
+                return;
+            } finally {
+                sendFinished();
+                draining.set(false);
+            }
+            // an event offered, or a close requested, while the loop was finishing found
+            // draining still set
+            if (!queue.isEmpty() || (closed && !completed.get())){
+                drainLater();
+            }
+        }
+
+        private synchronized void sendStarted() {
+            sendStarted = System.nanoTime();
+            sending.add(this);
+        }
+
+        private synchronized void sendFinished() {
+            sendStarted = 0;
+            sending.remove(this);
+            if (replaced){
+                replaced = false;
+                removeSenderThread();
+            }
+        }
+
+        /**
+         * Whether the send in progress has taken longer than {@code app.feed.send-timeout}; the
+         * thread it holds is then replaced until the send returns.
+         */
+        synchronized boolean stalled(long now) {
+            if (sendStarted == 0 || now - sendStarted <= sendTimeoutNanos){
+                return false;
+            }
+            if (!replaced){
+                replaced = addSenderThread();
+            }
+            return true;
+        }
+
+        void close() {
+            closed = true;
+            drainLater();
+        }
+    }
+}
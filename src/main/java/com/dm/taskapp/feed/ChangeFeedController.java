@@ -0,0 +1,54 @@
+package com.dm.taskapp.feed;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/feed")
+@Tag(name = "Change feed")
+public class ChangeFeedController {
+    private final ChangeFeedService changeFeedService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Subscribe to Changes",
+            description = "Endpoint to receive Server-Sent Events when the given tasks, tasks assigned to the caller, or their comments change. " +
+                    "Events are sent after the change is committed and only name the task (and comment); read it again to get the data. " +
+                    "A client that falls behind is disconnected and should reconnect and read the current state.",
+            parameters = {
+                    @Parameter(name = "taskId", description = "Optional. IDs of the tasks to follow, may be repeated."),
+                    @Parameter(name = "assigned", description = "Optional. Follow the tasks assigned to the caller (default false).")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Event stream opened",
+                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    schema = @Schema(implementation = ChangeEvent.class))),
+                    @ApiResponse(responseCode = "400", description = "Neither tasks nor 'assigned' specified, or too many tasks", content = @Content)
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public SseEmitter subscribe(
+            @RequestParam Optional<List<Long>> taskId,
+            @RequestParam Optional<Boolean> assigned,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return changeFeedService.subscribe(taskId.orElse(List.of()), assigned.orElse(false), userDetails);
+    }
+}
@@ -0,0 +1,47 @@
+package com.dm.taskapp.feed;
+
+import com.dm.taskapp.account.Account;
+import com.dm.taskapp.account.AccountRepository;
+import com.dm.taskapp.exceptions.ResourceNotFound;
+import com.dm.taskapp.security.AccountPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService {
+    static final int MAX_TASKS = 100;
+
+    private final ChangeFeed changeFeed;
+    private final AccountRepository accountRepository;
+
+    /**
+     * Subscribes to the changes of the given tasks and, if {@code assigned} is set, of every
+     * task assigned to the caller, including tasks that are assigned or unassigned later.
+     */
+    public SseEmitter subscribe(Collection<Long> taskIds, boolean assigned, UserDetails userDetails) {
+        if (taskIds.isEmpty() && !assigned){
+            throw new IllegalArgumentException("Specify the tasks to follow or 'assigned'");
+        }
+        if (taskIds.size() > MAX_TASKS){
+            throw new IllegalArgumentException("At most " + MAX_TASKS + " tasks can be followed");
+        }
+        Set<Long> tasks = Set.copyOf(taskIds);
+        Long accountId = assigned ? currentAccountId(userDetails) : null;
+
+        return changeFeed.subscribe(event -> tasks.contains(event.taskId())
+                || (accountId != null && event.assigneeIds().contains(accountId)));
+    }
+
+    private Long currentAccountId(UserDetails userDetails){
+        Long id = AccountPrincipal.idOf(userDetails);
+        return id != null ? id : accountRepository.findByEmail(userDetails.getUsername())
+                .map(Account::getId)
+                .orElseThrow(()-> new ResourceNotFound("Resource not found"));
+    }
+}
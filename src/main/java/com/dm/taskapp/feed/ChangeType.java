@@ -0,0 +1,9 @@
+package com.dm.taskapp.feed;
+
+public enum ChangeType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_DELETED,
+    COMMENT_ADDED,
+    COMMENT_DELETED
+}
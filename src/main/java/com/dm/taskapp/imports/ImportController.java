@@ -0,0 +1,69 @@
+package com.dm.taskapp.imports;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.Reader;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/import")
+@Tag(name = "Bulk import")
+public class ImportController {
+    private static final String TEXT_CSV = "text/csv";
+
+    private final ImportService importService;
+
+    @PostMapping(value = "/tasks", consumes = TEXT_CSV)
+    @Operation(
+            summary = "Import Tasks",
+            description = "Endpoint to bulk load tasks from a CSV file with the header " +
+                    "'title,description,status,priority,author_email,assignee_email'. " +
+                    "Rows that fail validation are reported and skipped, the rest are loaded. Only for ADMIN.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(mediaType = TEXT_CSV)
+            ),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Import finished",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ImportReport.class))),
+                    @ApiResponse(responseCode = "400", description = "Required column missing from the header"),
+                    @ApiResponse(responseCode = "403", description = "Not an administrator")
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public ResponseEntity<ImportReport> importTasks(Reader csv) {
+        return ResponseEntity.ok(importService.importTasks(csv));
+    }
+
+    @PostMapping(value = "/comments", consumes = TEXT_CSV)
+    @Operation(
+            summary = "Import Comments",
+            description = "Endpoint to bulk load comments from a CSV file with the header " +
+                    "'task_id,author_email,content'. " +
+                    "Rows that fail validation are reported and skipped, the rest are loaded. Only for ADMIN.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(mediaType = TEXT_CSV)
+            ),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Import finished",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ImportReport.class))),
+                    @ApiResponse(responseCode = "400", description = "Required column missing from the header"),
+                    @ApiResponse(responseCode = "403", description = "Not an administrator")
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public ResponseEntity<ImportReport> importComments(Reader csv) {
+        return ResponseEntity.ok(importService.importComments(csv));
+    }
+}
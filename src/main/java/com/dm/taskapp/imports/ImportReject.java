@@ -0,0 +1,9 @@
+package com.dm.taskapp.imports;
+
+/**
+ * A CSV row that was not imported. {@code line} is the 1-based line of the record, header included.
+ */
+public record ImportReject(
+        long line,
+        String reason) {
+}
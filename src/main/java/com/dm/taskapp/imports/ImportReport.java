@@ -0,0 +1,13 @@
+package com.dm.taskapp.imports;
+
+import java.util.List;
+
+/**
+ * Outcome of an import. {@code rejects} lists at most the first
+ * {@value ImportServiceImpl#MAX_REPORTED_REJECTS} rejected rows; {@code rejected} counts all of them.
+ */
+public record ImportReport(
+        long imported,
+        long rejected,
+        List<ImportReject> rejects) {
+}
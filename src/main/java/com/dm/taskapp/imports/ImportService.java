@@ -0,0 +1,8 @@
+package com.dm.taskapp.imports;
+
+import java.io.Reader;
+
+public interface ImportService {
+    ImportReport importTasks(Reader csv);
+    ImportReport importComments(Reader csv);
+}
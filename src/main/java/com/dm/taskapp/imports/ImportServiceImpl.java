@@ -0,0 +1,344 @@
+package com.dm.taskapp.imports;
+
+import com.dm.taskapp.account.AccountIdentity;
+import com.dm.taskapp.account.AccountRepository;
+import com.dm.taskapp.app.IdGeneration;
+import com.dm.taskapp.task.enums.TaskPriority;
+import com.dm.taskapp.task.enums.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.dm.taskapp.task.enums.TaskPriority.isPriority;
+import static com.dm.taskapp.task.enums.TaskStatus.isTaskStatus;
+
+/**
+ * Loads CSV files with {@code COPY ... FROM STDIN}, {@value #CHUNK_SIZE} rows per statement.
+ * Rows are validated before they are copied: emails are resolved through one map of all
+ * accounts, and comment task ids are checked once per chunk. A bad row is reported and skipped,
+ * and so is a row the database refuses.
+ * Ids are taken from the entity sequences in blocks of {@link IdGeneration#BLOCK_SIZE}, the
+ * same way Hibernate's pooled-lo optimizer does, so imported rows never collide with the
+ * application's own inserts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportServiceImpl implements ImportService {
+    static final int CHUNK_SIZE = 10_000;
+    static final int MAX_REPORTED_REJECTS = 1000;
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final String COPY_TASKS =
+            "copy task (id, title, description, status, priority, author_id, assignee_id) from stdin with (format csv)";
+    private static final String COPY_COMMENTS =
+            "copy comment (id, content, task_id, account_id) from stdin with (format csv)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountRepository accountRepository;
+
+    @Override
+    public ImportReport importTasks(Reader csv) {
+        var accounts = accountIdsByEmail();
+        var progress = new Progress("tasks");
+        var chunk = new Chunk();
+        try (CSVParser parser = parse(csv, "title", "author_email")){
+            for (CSVRecord record : records(parser, progress)){
+                long line = record.getRecordNumber() + 1;
+                String title = value(record, "title");
+                String description = value(record, "description");
+                String status = value(record, "status");
+                String priority = value(record, "priority");
+                String authorEmail = value(record, "author_email");
+                String assigneeEmail = value(record, "assignee_email");
+
+                String reason = null;
+                if (title == null){
+                    reason = "Title is required";
+                } else if (title.length() > MAX_TEXT_LENGTH || (description != null && description.length() > MAX_TEXT_LENGTH)){
+                    reason = "Title and description must not exceed " + MAX_TEXT_LENGTH + " characters";
+                } else if (status != null && !isTaskStatus(status)){
+                    reason = "Wrong status";
+                } else if (priority != null && !isPriority(priority)){
+                    reason = "Wrong priority";
+                } else if (!accounts.containsKey(authorEmail)){
+                    reason = "Author account not found";
+                } else if (assigneeEmail != null && !accounts.containsKey(assigneeEmail)){
+                    reason = "Assignee account not found";
+                }
+                if (reason != null){
+                    progress.reject(line, reason);
+                    continue;
+                }
+                chunk.add(line, title, description,
+                        status == null ? TaskStatus.OPEN.name() : TaskStatus.valueOf(status.toUpperCase()).name(),
+                        priority == null ? TaskPriority.LOW.name() : TaskPriority.valueOf(priority.toUpperCase()).name(),
+                        accounts.get(authorEmail),
+                        assigneeEmail == null ? null : accounts.get(assigneeEmail));
+                if (chunk.size() == CHUNK_SIZE){
+                    copy(COPY_TASKS, "task_sequence", chunk, progress);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        copy(COPY_TASKS, "task_sequence", chunk, progress);
+
+        return progress.report();
+    }
+
+    @Override
+    public ImportReport importComments(Reader csv) {
+        var accounts = accountIdsByEmail();
+        var progress = new Progress("comments");
+        var chunk = new Chunk();
+        try (CSVParser parser = parse(csv, "task_id", "author_email", "content")){
+            for (CSVRecord record : records(parser, progress)){
+                long line = record.getRecordNumber() + 1;
+                String taskId = value(record, "task_id");
+                String authorEmail = value(record, "author_email");
+                String content = value(record, "content");
+
+                String reason = null;
+                if (taskId == null || !taskId.matches("\\d{1,18}")){
+                    reason = "Wrong task id";
+                } else if (content == null){
+                    reason = "Content is required";
+                } else if (content.length() > MAX_TEXT_LENGTH){
+                    reason = "Content must not exceed " + MAX_TEXT_LENGTH + " characters";
+                } else if (!accounts.containsKey(authorEmail)){
+                    reason = "Author account not found";
+                }
+                if (reason != null){
+                    progress.reject(line, reason);
+                    continue;
+                }
+                chunk.add(line, content, Long.valueOf(taskId), accounts.get(authorEmail));
+                if (chunk.size() == CHUNK_SIZE){
+                    copyComments(chunk, progress);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        copyComments(chunk, progress);
+
+        return progress.report();
+    }
+
+    /**
+     * Drops the comments of tasks that do not exist, checking the whole chunk with one query,
+     * before copying the rest.
+     */
+    private void copyComments(Chunk chunk, Progress progress){
+        if (chunk.size() == 0){
+            return;
+        }
+        Long[] taskIds = chunk.rows.stream()
+                .map(row -> (Long) row[1])
+                .distinct()
+                .toArray(Long[]::new);
+        Set<Long> existing = new HashSet<>(
+                jdbcTemplate.queryForList("select id from task where id = any(?)", Long.class, (Object) taskIds));
+        var valid = new Chunk();
+        for (int i = 0; i < chunk.size(); i++){
+            if (existing.contains((Long) chunk.rows.get(i)[1])){
+                valid.add(chunk.lines.get(i), chunk.rows.get(i));
+            } else {
+                progress.reject(chunk.lines.get(i), "The task does not exist");
+            }
+        }
+        chunk.clear();
+        copy(COPY_COMMENTS, "comment_sequence", valid, progress);
+    }
+
+    /**
+     * Copies one chunk in its own statement. If the database refuses it, the chunk is split in
+     * halves and each half is copied again, down to single rows, so only the rows the database
+     * refuses are reported as rejected. A chunk with one bad row costs about
+     * 2 * log2({@value #CHUNK_SIZE}) extra statements.
+     */
+    private void copy(String sql, String sequence, Chunk chunk, Progress progress){
+        if (chunk.size() == 0){
+            return;
+        }
+        var ids = allocateIds(sequence, chunk.size());
+        copy(sql, chunk, ids, 0, chunk.size(), progress);
+        chunk.clear();
+        progress.log();
+    }
+
+    private void copy(String sql, Chunk chunk, List<Long> ids, int from, int to, Progress progress){
+        var data = new StringWriter();
+        try (CSVPrinter printer = new CSVPrinter(data, CSVFormat.POSTGRESQL_CSV)){
+            for (int i = from; i < to; i++){
+                printer.print(ids.get(i));
+                printer.printRecord(chunk.rows.get(i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI()
+                            .copyIn(sql, new StringReader(data.toString()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            progress.imported(copied == null ? 0 : copied);
+        } catch (DataAccessException e) {
+            if (to - from == 1){
+                log.warn("Row of line {} rejected by the database: {}", chunk.lines.get(from), e.getMostSpecificCause().getMessage());
+                progress.reject(chunk.lines.get(from), "Rejected by the database: " + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            log.warn("Failed to copy {} rows, retrying them in halves: {}", to - from, e.getMostSpecificCause().getMessage());
+            int middle = (from + to) >>> 1;
+            copy(sql, chunk, ids, from, middle, progress);
+            copy(sql, chunk, ids, middle, to, progress);
+        }
+    }
+
+    private List<Long> allocateIds(String sequence, int count){
+        int blocks = (count + IdGeneration.BLOCK_SIZE - 1) / IdGeneration.BLOCK_SIZE;
+        var ids = new ArrayList<Long>(count);
+        for (Long low : jdbcTemplate.queryForList(
+                "select nextval('" + sequence + "') from generate_series(1, ?)", Long.class, blocks)){
+            for (long id = low; id < low + IdGeneration.BLOCK_SIZE && ids.size() < count; id++){
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private Map<String, Long> accountIdsByEmail(){
+        var accounts = new HashMap<String, Long>();
+        for (AccountIdentity account : accountRepository.findAllIdentities()){
+            if (account.getEmail() != null){
+                accounts.put(account.getEmail(), account.getId());
+            }
+        }
+        return accounts;
+    }
+
+    private static CSVParser parse(Reader csv, String... requiredColumns) throws IOException {
+        CSVParser parser = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build()
+                .parse(csv);
+        for (String column : requiredColumns){
+            if (!parser.getHeaderMap().containsKey(column)){
+                parser.close();
+                throw new IllegalArgumentException("CSV header must contain the column " + column);
+            }
+        }
+        return parser;
+    }
+
+    /**
+     * Iterates the parser, turning a structural error (an unterminated quote, for example)
+     * into a reject that ends the import instead of an exception that loses the report.
+     */
+    private static Iterable<CSVRecord> records(CSVParser parser, Progress progress){
+        var iterator = parser.iterator();
+        return () -> new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return iterator.hasNext();
+                } catch (UncheckedIOException | IllegalStateException e) {
+                    progress.reject(parser.getCurrentLineNumber(), "Malformed CSV, the rest of the file is skipped: " + e.getMessage());
+                    return false;
+                }
+            }
+
+            @Override
+            public CSVRecord next() {
+                return iterator.next();
+            }
+        };
+    }
+
+    private static String value(CSVRecord record, String column){
+        if (!record.isSet(column)){
+            return null;
+        }
+        String value = record.get(column);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static final class Chunk {
+        private final List<Long> lines = new ArrayList<>();
+        private final List<Object[]> rows = new ArrayList<>();
+
+        void add(long line, Object... row){
+            lines.add(line);
+            rows.add(row);
+        }
+
+        int size(){
+            return rows.size();
+        }
+
+        void clear(){
+            lines.clear();
+            rows.clear();
+        }
+    }
+
+    private static final class Progress {
+        private final String target;
+        private final List<ImportReject> rejects = new ArrayList<>();
+        private long imported;
+        private long rejected;
+
+        Progress(String target){
+            this.target = target;
+        }
+
+        void imported(long count){
+            imported += count;
+        }
+
+        void reject(long line, String reason){
+            rejected++;
+            if (rejects.size() < MAX_REPORTED_REJECTS){
+                rejects.add(new ImportReject(line, reason));
+            }
+        }
+
+        void log(){
+            log.info("Import of {}: {} rows imported, {} rejected", target, imported, rejected);
+        }
+
+        ImportReport report(){
+            log.info("Import of {} finished: {} rows imported, {} rejected", target, imported, rejected);
+            return new ImportReport(imported, rejected, List.copyOf(rejects));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.dm.taskapp.security;
+
+import com.dm.taskapp.account.Account;
+import com.dm.taskapp.account.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lightweight principal rebuilt from the claims of a verified JWT, so authenticated requests
+ * do not have to load the {@link Account} from the database.
+ */
+@Getter
+@AllArgsConstructor
+public class AccountPrincipal implements UserDetails {
+    private final Long id;
+    private final String email;
+    private final Role role;
+
+    /**
+     * Returns the account id carried by the principal, or {@code null} if it has to be looked up by email.
+     */
+    public static Long idOf(UserDetails userDetails) {
+        if (userDetails instanceof AccountPrincipal principal) {
+            return principal.getId();
+        }
+        if (userDetails instanceof Account account) {
+            return account.getId();
+        }
+        return null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -6,4 +6,5 @@ public interface JwtService {
     String extractUserName(String token);
     String generateToken(UserDetails userDetails);
     boolean isTokenValid(String token, UserDetails userDetails);
+    AccountPrincipal extractPrincipal(String token);
 }
\ No newline at end of file
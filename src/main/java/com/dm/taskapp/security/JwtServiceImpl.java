@@ -1,6 +1,12 @@
 package com.dm.taskapp.security;
 
+import com.dm.taskapp.account.Account;
+import com.dm.taskapp.account.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -9,19 +15,43 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 
 @Service
 public class JwtServiceImpl implements JwtService {
-    @Value("${app.security.jwt.key}")
-    private String secretKey;
-    @Value("${app.security.jwt.expiration}")
-    private long jwtExpiration;
+    private static final String ID_CLAIM = "id";
+    private static final String ROLE_CLAIM = "role";
+    private final long jwtExpiration;
+    private final Key signingKey;
+    private final JwtParser parser;
+    /**
+     * Claims of tokens whose signature was already verified, keyed by a SHA-256 digest of the
+     * token so raw tokens are not kept in memory. Entries expire together with their token.
+     */
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtServiceImpl(@Value("${app.security.jwt.key}") String secretKey,
+                          @Value("${app.security.jwt.expiration}") long jwtExpiration,
+                          @Value("${app.security.jwt.cache-size:10000}") long cacheSize) {
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new UntilTokenExpires())
+                .build();
+    }
+
     @Override
     public String extractUserName(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -29,7 +59,12 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof Account account && account.getId() != null && account.getRole() != null) {
+            claims.put(ID_CLAIM, account.getId());
+            claims.put(ROLE_CLAIM, account.getRole().name());
+        }
+        return generateToken(claims, userDetails);
     }
 
     @Override
@@ -38,6 +73,21 @@ public class JwtServiceImpl implements JwtService {
         return (userName.equals(userDetails.getUsername())) && !isTokenExpired(token);
     }
 
+    /**
+     * Builds the principal from the claims alone. Returns {@code null} for tokens issued
+     * without the account id and role, which callers resolve from the database instead.
+     */
+    @Override
+    public AccountPrincipal extractPrincipal(String token) {
+        final Claims claims = extractAllClaims(token);
+        Long id = claims.get(ID_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (id == null || role == null) {
+            return null;
+        }
+        return new AccountPrincipal(id, claims.getSubject(), Role.valueOf(role));
+    }
+
     private <T> T extractClaim(String token, Function<Claims, T> claimsResolvers) {
         final Claims claims = extractAllClaims(token);
         return claimsResolvers.apply(claims);
@@ -47,7 +97,7 @@ public class JwtServiceImpl implements JwtService {
         return Jwts.builder().setClaims(extraClaims).setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256).compact();
+                .signWith(signingKey, SignatureAlgorithm.HS256).compact();
     }
 
     private boolean isTokenExpired(String token) {
@@ -59,12 +109,37 @@ public class JwtServiceImpl implements JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token)
-                .getBody();
+        return verifiedTokens.get(digest(token), key -> parser.parseClaimsJws(token).getBody());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static class UntilTokenExpires implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long millisLeft = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millisLeft, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.dm.taskapp.sync;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/sync")
+@Tag(name = "Sync")
+public class SyncController {
+    private final SyncService syncService;
+
+    @GetMapping
+    @Operation(
+            summary = "Sync Changes",
+            description = "Endpoint to keep a local copy of the caller's tasks (created or assigned) and their comments up to date. " +
+                    "Without a token it returns everything; with the token of the previous sync, only what changed since, " +
+                    "including the tasks and comments to drop. Read pages while 'hasMore' is set and keep the last token.",
+            parameters = {
+                    @Parameter(name = "token", description = "Optional. Token of the previous page or sync. Omit for a full sync."),
+                    @Parameter(name = "size", description = "Optional. Maximum number of tasks, comments and deletions per page (default 500, at most 1000).")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Changes retrieved successfully",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = SyncPage.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid token or size specified", content = @Content),
+                    @ApiResponse(responseCode = "410", description = "The token is too old, sync again without it", content = @Content)
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public ResponseEntity<SyncPage> sync(
+            @RequestParam Optional<String> token,
+            @RequestParam Optional<Integer> size,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return ResponseEntity.ok(syncService.sync(token.orElse(null), size.orElse(500), userDetails));
+    }
+}
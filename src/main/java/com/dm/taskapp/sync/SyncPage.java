@@ -0,0 +1,20 @@
+package com.dm.taskapp.sync;
+
+import com.dm.taskapp.comment.CommentView;
+import com.dm.taskapp.task.TaskView;
+
+import java.util.List;
+
+/**
+ * Changes since the sync token. {@code tasks} and {@code comments} are the current rows to
+ * store, {@code deleted} the ones to drop; within a page they never contradict each other.
+ * While {@code hasMore} is set, {@code token} reads the next page; afterwards it is the
+ * watermark to keep for the next sync.
+ */
+public record SyncPage(
+        List<TaskView> tasks,
+        List<CommentView> comments,
+        List<SyncTombstone> deleted,
+        String token,
+        boolean hasMore) {
+}
@@ -0,0 +1,17 @@
+package com.dm.taskapp.sync;
+
+/**
+ * Place in a stream of changes ordered by the writing transaction and then by id: the
+ * next read returns the rows after it.
+ */
+public record SyncPosition(
+        long xid,
+        long id) {
+
+    /**
+     * Position before every row written by transaction {@code xid} or later.
+     */
+    public static SyncPosition from(long xid) {
+        return new SyncPosition(xid, 0L);
+    }
+}
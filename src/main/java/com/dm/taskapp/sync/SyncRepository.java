@@ -0,0 +1,130 @@
+package com.dm.taskapp.sync;
+
+import com.dm.taskapp.account.AccountInfo;
+import com.dm.taskapp.comment.CommentView;
+import com.dm.taskapp.task.TaskView;
+import com.dm.taskapp.task.enums.TaskPriority;
+import com.dm.taskapp.task.enums.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reads the rows of an account that changed after a {@link SyncPosition}, in
+ * (change_xid, id) order. The stamps and tombstones are written by database triggers
+ * (see V7__delta_sync.sql), so every write counts, whatever path it took.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SyncRepository {
+    // Each branch is a range scan of its (account, change_xid, id) index stopping at the limit
+    private static final String TASKS = "select t.id, t.title, t.description, t.status, t.priority, t.author_id, "
+            + "t.assignee_id, t.version, t.change_xid from task t where t.id in ("
+            + "(select id from task where author_id = ? and (change_xid, id) > (?, ?) order by change_xid, id limit ?) "
+            + "union "
+            + "(select id from task where assignee_id = ? and (change_xid, id) > (?, ?) order by change_xid, id limit ?)) "
+            + "order by t.change_xid, t.id limit ?";
+    // Comments have no account column: one range of comment_task_change_idx per task of the
+    // account, each stopping at the limit, merged; authors are joined for the final page only
+    private static final String COMMENTS = "select c.id, c.content, c.task_id, a.id, a.name, a.email, c.change_xid "
+            + "from (select c.* from ("
+            + "(select id from task where author_id = ?) "
+            + "union "
+            + "(select id from task where assignee_id = ?)) t "
+            + "cross join lateral (select id, content, task_id, account_id, change_xid from comment "
+            + "where task_id = t.id and (change_xid, id) > (?, ?) order by change_xid, id limit ?) c "
+            + "order by c.change_xid, c.id limit ?) c "
+            + "left join account a on a.id = c.account_id "
+            + "order by c.change_xid, c.id";
+    // A task the account sees again, after it was assigned back, is not dropped
+    private static final String TOMBSTONES = "select d.entity, d.entity_id, d.task_id, d.change_xid, d.id "
+            + "from sync_tombstone d "
+            + "where d.account_id = ? and (d.change_xid, d.id) > (?, ?) "
+            + "and not (d.entity = 'TASK' and exists (select 1 from task t "
+            + "where t.id = d.entity_id and (t.author_id = ? or t.assignee_id = ?))) "
+            + "order by d.change_xid, d.id limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Transaction id below which every transaction has finished, as seen by the current
+     * snapshot. Taken first, it covers everything the following reads can see.
+     */
+    public long currentHorizon() {
+        return jdbcTemplate.queryForObject("select pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+    }
+
+    /**
+     * Tombstones of older transactions may have been purged.
+     */
+    public long tombstonesFrom() {
+        return jdbcTemplate.queryForObject("select tombstones_from from sync_horizon", Long.class);
+    }
+
+    public List<Changed<TaskView>> findTasks(Long accountId, SyncPosition after, int limit) {
+        return jdbcTemplate.query(TASKS, this::mapTask,
+                accountId, after.xid(), after.id(), limit,
+                accountId, after.xid(), after.id(), limit,
+                limit);
+    }
+
+    public List<Changed<CommentView>> findComments(Long accountId, SyncPosition after, int limit) {
+        return jdbcTemplate.query(COMMENTS, this::mapComment,
+                accountId, accountId, after.xid(), after.id(), limit, limit);
+    }
+
+    public List<Changed<SyncTombstone>> findTombstones(Long accountId, SyncPosition after, int limit) {
+        return jdbcTemplate.query(TOMBSTONES, this::mapTombstone,
+                accountId, after.xid(), after.id(), accountId, accountId, limit);
+    }
+
+    /**
+     * Removes the tombstones older than {@code retention}; tokens from before them can no
+     * longer be served. Returns whether there were any.
+     */
+    public boolean purgeTombstones(Duration retention) {
+        return jdbcTemplate.update("with purged as ("
+                        + "delete from sync_tombstone where created_at < now() - make_interval(secs => ?) returning change_xid) "
+                        + "update sync_horizon set tombstones_from = greatest(tombstones_from, (select max(change_xid) + 1 from purged)) "
+                        + "where exists (select 1 from purged)",
+                (double) retention.toSeconds()) > 0;
+    }
+
+    /**
+     * A changed row with its place in the stream.
+     */
+    public record Changed<T>(
+            SyncPosition position,
+            T item) {
+    }
+
+    private Changed<TaskView> mapTask(ResultSet rs, int rowNum) throws SQLException {
+        var task = new TaskView(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4) == null ? null : TaskStatus.valueOf(rs.getString(4)),
+                rs.getString(5) == null ? null : TaskPriority.valueOf(rs.getString(5)),
+                rs.getObject(6, Long.class),
+                rs.getObject(7, Long.class),
+                rs.getLong(8));
+        return new Changed<>(new SyncPosition(rs.getLong(9), task.id()), task);
+    }
+
+    private Changed<CommentView> mapComment(ResultSet rs, int rowNum) throws SQLException {
+        var author = rs.getObject(4) == null ? null
+                : new AccountInfo(rs.getLong(4), rs.getString(5), rs.getString(6));
+        var comment = new CommentView(rs.getLong(1), rs.getString(2), rs.getLong(3), author);
+        return new Changed<>(new SyncPosition(rs.getLong(7), comment.id()), comment);
+    }
+
+    private Changed<SyncTombstone> mapTombstone(ResultSet rs, int rowNum) throws SQLException {
+        var tombstone = new SyncTombstone(SyncTombstone.Type.valueOf(rs.getString(1)), rs.getLong(2), rs.getLong(3));
+        return new Changed<>(new SyncPosition(rs.getLong(4), rs.getLong(5)), tombstone);
+    }
+}
@@ -0,0 +1,7 @@
+package com.dm.taskapp.sync;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+public interface SyncService {
+    SyncPage sync(String token, int size, UserDetails userDetails);
+}
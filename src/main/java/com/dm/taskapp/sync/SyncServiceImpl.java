@@ -0,0 +1,78 @@
+package com.dm.taskapp.sync;
+
+import com.dm.taskapp.account.Account;
+import com.dm.taskapp.account.AccountRepository;
+import com.dm.taskapp.exceptions.ResourceNotFound;
+import com.dm.taskapp.exceptions.SyncTokenExpiredException;
+import com.dm.taskapp.security.AccountPrincipal;
+import com.dm.taskapp.sync.SyncRepository.Changed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SyncServiceImpl implements SyncService {
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final SyncRepository syncRepository;
+    private final AccountRepository accountRepository;
+
+    /**
+     * Reads the tasks the caller created or is assigned, their comments and the tombstones
+     * after the token, at most {@code size} of each. All reads share one snapshot, so a page
+     * is consistent and its horizon covers everything it returned.
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public SyncPage sync(String token, int size, UserDetails userDetails) {
+        if (size < 1 || size > MAX_PAGE_SIZE){
+            throw new IllegalArgumentException("Wrong page size");
+        }
+        long horizon = syncRepository.currentHorizon();
+        SyncToken from = token == null ? SyncToken.full(horizon) : SyncToken.decode(token);
+        if (token != null && from.deleted().xid() < syncRepository.tombstonesFrom()){
+            throw new SyncTokenExpiredException("The sync token is too old, a full sync is required");
+        }
+        Long accountId = currentAccountId(userDetails);
+
+        var tasks = syncRepository.findTasks(accountId, from.tasks(), size + 1);
+        var comments = syncRepository.findComments(accountId, from.comments(), size + 1);
+        var deleted = syncRepository.findTombstones(accountId, from.deleted(), size + 1);
+
+        boolean hasMore = tasks.size() > size || comments.size() > size || deleted.size() > size;
+        long runHorizon = Math.min(from.horizon(), horizon);
+        SyncToken next = hasMore
+                ? new SyncToken(runHorizon,
+                        lastPosition(tasks, size, from.tasks()),
+                        lastPosition(comments, size, from.comments()),
+                        lastPosition(deleted, size, from.deleted()))
+                : SyncToken.since(runHorizon);
+        return new SyncPage(items(tasks, size), items(comments, size), items(deleted, size), next.encode(), hasMore);
+    }
+
+    private static <T> List<T> items(List<Changed<T>> rows, int size){
+        return rows.stream()
+                .limit(size)
+                .map(Changed::item)
+                .toList();
+    }
+
+    private static SyncPosition lastPosition(List<? extends Changed<?>> rows, int size, SyncPosition current){
+        if (rows.isEmpty()){
+            return current;
+        }
+        return rows.get(Math.min(rows.size(), size) - 1).position();
+    }
+
+    private Long currentAccountId(UserDetails userDetails){
+        Long id = AccountPrincipal.idOf(userDetails);
+        return id != null ? id : accountRepository.findByEmail(userDetails.getUsername())
+                .map(Account::getId)
+                .orElseThrow(()-> new ResourceNotFound("Resource not found"));
+    }
+}
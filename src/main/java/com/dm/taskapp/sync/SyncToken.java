@@ -0,0 +1,55 @@
+package com.dm.taskapp.sync;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Opaque sync token: where each of the task, comment and tombstone streams stopped, and
+ * the lowest snapshot horizon seen since the sync started. Once the last page has been
+ * read every stream starts again from that horizon, so rows of transactions that were
+ * still running are read again rather than missed.
+ */
+public record SyncToken(
+        long horizon,
+        SyncPosition tasks,
+        SyncPosition comments,
+        SyncPosition deleted) {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final SyncPosition START = SyncPosition.from(0L);
+
+    /**
+     * A sync from scratch: every task and comment, and only the tombstones written from now
+     * on, since the client has nothing to drop yet.
+     */
+    public static SyncToken full(long horizon) {
+        return new SyncToken(Long.MAX_VALUE, START, START, SyncPosition.from(horizon));
+    }
+
+    /**
+     * The watermark handed out after the last page.
+     */
+    public static SyncToken since(long horizon) {
+        var from = SyncPosition.from(horizon);
+        return new SyncToken(Long.MAX_VALUE, from, from, from);
+    }
+
+    public String encode() {
+        String value = horizon + ":" + tasks.xid() + ":" + tasks.id() + ":" + comments.xid() + ":" + comments.id()
+                + ":" + deleted.xid() + ":" + deleted.id();
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncToken decode(String token) {
+        try {
+            long[] parts = Arrays.stream(new String(DECODER.decode(token), StandardCharsets.UTF_8).split(":"))
+                    .mapToLong(Long::parseLong)
+                    .toArray();
+            return new SyncToken(parts[0], new SyncPosition(parts[1], parts[2]),
+                    new SyncPosition(parts[3], parts[4]), new SyncPosition(parts[5], parts[6]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Wrong sync token");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.dm.taskapp.sync;
+
+/**
+ * A task or comment the caller should drop: it was deleted, or the task is no longer
+ * assigned to them. {@code taskId} is the task itself, or the task of the comment.
+ */
+public record SyncTombstone(
+        Type type,
+        Long id,
+        Long taskId) {
+
+    public enum Type {
+        TASK,
+        COMMENT
+    }
+}
@@ -0,0 +1,33 @@
+package com.dm.taskapp.sync;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Keeps tombstones for {@code app.sync.tombstone-retention}. A client that has not synced
+ * for longer gets 410 Gone and downloads everything again.
+ */
+@Slf4j
+@Component
+public class SyncTombstonePurger {
+    private final SyncRepository syncRepository;
+    private final Duration retention;
+
+    public SyncTombstonePurger(SyncRepository syncRepository,
+                               @Value("${app.sync.tombstone-retention:P30D}") Duration retention) {
+        this.syncRepository = syncRepository;
+        this.retention = retention;
+    }
+
+    @Scheduled(initialDelayString = "${app.sync.purge-interval:PT1H}",
+            fixedDelayString = "${app.sync.purge-interval:PT1H}")
+    public void purge() {
+        if (syncRepository.purgeTombstones(retention)){
+            log.info("Purged sync tombstones older than {}", retention);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.dm.taskapp.task;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a bulk mutation: the ids that were changed and, for every id that was not,
+ * the reason it was skipped.
+ */
+public record BulkUpdateResult(
+        List<Long> updated,
+        Map<Long, String> skipped) {
+}
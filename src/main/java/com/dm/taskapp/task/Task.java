@@ -1,6 +1,7 @@
 package com.dm.taskapp.task;
 
 import com.dm.taskapp.account.Account;
+import com.dm.taskapp.app.IdGeneration;
 import com.dm.taskapp.task.enums.TaskPriority;
 import com.dm.taskapp.task.enums.TaskStatus;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -21,7 +22,7 @@ public class Task {
     @SequenceGenerator(
             name = "task_sequence",
             sequenceName = "task_sequence",
-            allocationSize = 1
+            allocationSize = IdGeneration.BLOCK_SIZE
     )
     @Id
     @GeneratedValue(
@@ -51,4 +52,8 @@ public class Task {
     @JsonIgnore
     @JoinColumn(name = "assignee_id")
     private Account assignee;
+
+    @Version
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,21 @@
+package com.dm.taskapp.task;
+
+import com.dm.taskapp.task.enums.TaskPriority;
+import com.dm.taskapp.task.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBulkUpdateRequest {
+    private List<Long> ids;
+    private TaskStatus taskStatus;
+    private TaskPriority taskPriority;
+    private Long assigneeId;
+}
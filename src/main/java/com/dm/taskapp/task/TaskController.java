@@ -1,25 +1,39 @@
 package com.dm.taskapp.task;
 
+import com.dm.taskapp.app.CursorPage;
+import com.dm.taskapp.app.ETags;
 import com.dm.taskapp.task.enums.TaskPriority;
 import com.dm.taskapp.task.enums.TaskStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +43,8 @@ import java.util.Optional;
 @Tag(name = "Task management")
 public class TaskController {
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final TaskExportLimiter exportLimiter;
 
     @PostMapping
     @Operation(
@@ -53,63 +69,220 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(task);
     }
 
+    @PostMapping("/bulk")
+    @Operation(
+            summary = "Create Tasks in Bulk",
+            description = "Endpoint to create many tasks in one transaction",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "List of tasks to create",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskRequest.class)))
+            ),
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Tasks created successfully, returns their IDs in request order",
+                            content = @Content(mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = Long.class)))),
+                    @ApiResponse(responseCode = "400", description = "Empty or too large request", content = @Content)
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public ResponseEntity<List<Long>> createTasks(
+            @RequestBody List<TaskRequest> requests,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        List<Long> ids = taskService.createAll(requests, userDetails);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(ids);
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Read Task",
-            description = "Endpoint to retrieve a task by ID",
+            description = "Endpoint to retrieve a task by ID. The response carries an ETag derived from the task version.",
             parameters = {
-                    @Parameter(name = "id", description = "ID of the task to retrieve", required = true)
+                    @Parameter(name = "id", description = "ID of the task to retrieve", required = true),
+                    @Parameter(name = "If-None-Match", in = ParameterIn.HEADER, description = "Optional. ETag of a previously received task.")
             },
             responses = {
                     @ApiResponse(responseCode = "200", description = "Task retrieved successfully",
                             content = @Content(mediaType = "application/json",
-                                    schema = @Schema(implementation = Task.class))),
+                                    schema = @Schema(implementation = TaskView.class))),
+                    @ApiResponse(responseCode = "304", description = "Task has not changed since the ETag in If-None-Match", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Task not found")
             },
             security = {@SecurityRequirement(name = "BearerJWT")}
     )
-    public ResponseEntity<Task> readTask(@PathVariable Long id) {
-        Task task = taskService.read(id);
-        return ResponseEntity.ok(task);
+    public ResponseEntity<TaskView> readTask(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null){
+            String etag = ETags.of(taskService.readVersion(id));
+            if (ETags.matches(ifNoneMatch, etag)){
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        TaskView task = taskService.read(id);
+        return ResponseEntity.ok().eTag(ETags.of(task.version())).body(task);
     }
 
 
     @GetMapping
     @Operation(
             summary = "Read All Tasks",
-            description = "Endpoint to retrieve all tasks",
+            description = "Endpoint to retrieve tasks page by page using a keyset cursor. All specified filters are combined.",
             parameters = {
-                    @Parameter(name = "page", description = "Optional. Page number (zero-based) to retrieve."),
+                    @Parameter(name = "cursor", description = "Optional. Cursor from the 'nextCursor' of the previous page. Omit to start from the first page."),
                     @Parameter(name = "size", description = "Optional. Number of items per page."),
                     @Parameter(name = "status", description = "Optional. Filter by task status ('OPEN', 'IN_PROGRESS', 'RESOLVED','CLOSE')."),
-                    @Parameter(name = "priority", description = "Optional. Filter by task priority ('LOW', 'HIGH', 'MEDIUM').")
+                    @Parameter(name = "priority", description = "Optional. Filter by task priority ('LOW', 'HIGH', 'MEDIUM')."),
+                    @Parameter(name = "authorId", description = "Optional. Filter by ID of the task author."),
+                    @Parameter(name = "assigneeId", description = "Optional. Filter by ID of the task assignee."),
+                    @Parameter(name = "fromId", description = "Optional. Lowest task ID to include."),
+                    @Parameter(name = "toId", description = "Optional. Highest task ID to include."),
+                    @Parameter(name = "withAccounts", description = "Optional. Embed author and assignee summaries (default false).")
             },
             responses = {
                     @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
                             content = @Content(mediaType = "application/json",
-                                    schema = @Schema(implementation = Task.class)))
+                                    schema = @Schema(implementation = CursorPage.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor, size or filter specified", content = @Content)
             },
             security = {@SecurityRequirement(name = "BearerJWT")}
     )
-    public ResponseEntity<List<Task>> readAllTasks(
-            @RequestParam Optional<Integer> page,
+    public ResponseEntity<CursorPage<TaskView>> readAllTasks(
+            @RequestParam Optional<String> cursor,
             @RequestParam Optional<Integer> size,
             @RequestParam Optional<String> status,
-            @RequestParam Optional<String> priority
+            @RequestParam Optional<String> priority,
+            @RequestParam Optional<Long> authorId,
+            @RequestParam Optional<Long> assigneeId,
+            @RequestParam Optional<Long> fromId,
+            @RequestParam Optional<Long> toId,
+            @RequestParam Optional<Boolean> withAccounts
     ) {
-        Pageable pageable = PageRequest.of(page.orElse(0), size.orElse(10));
-        List<Task> tasks;
+        var filter = TaskFilter.builder()
+                .status(status.orElse(null))
+                .priority(priority.orElse(null))
+                .authorId(authorId.orElse(null))
+                .assigneeId(assigneeId.orElse(null))
+                .fromId(fromId.orElse(null))
+                .toId(toId.orElse(null))
+                .build();
+        var tasks = taskService.readAll(cursor.orElse(null), size.orElse(10), filter);
+        if (withAccounts.orElse(false)){
+            tasks = new CursorPage<>(taskService.withAccounts(tasks.items()), tasks.nextCursor());
+        }
+        return ResponseEntity.ok(tasks);
+    }
 
-        if (status.isPresent()) {
-            tasks = taskService.readByStatus(pageable, status.get());
-        } else if (priority.isPresent()) {
-            tasks = taskService.readByPriority(pageable, priority.get());
-        } else {
-            tasks = taskService.readAll(pageable);
+    @GetMapping("/search")
+    @Operation(
+            summary = "Search Tasks",
+            description = "Endpoint to search tasks by words of the title and description. Results are ordered by relevance, " +
+                    "title matches first, and retrieved page by page using a cursor.",
+            parameters = {
+                    @Parameter(name = "q", description = "Search query. Supports quoted phrases, 'or' and '-' to exclude a word.", required = true),
+                    @Parameter(name = "cursor", description = "Optional. Cursor from the 'nextCursor' of the previous page. Omit to start from the first page."),
+                    @Parameter(name = "size", description = "Optional. Number of items per page."),
+                    @Parameter(name = "withAccounts", description = "Optional. Embed author and assignee summaries (default false).")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks found",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = CursorPage.class))),
+                    @ApiResponse(responseCode = "400", description = "Empty query, invalid cursor or size specified", content = @Content)
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public ResponseEntity<CursorPage<TaskView>> searchTasks(
+            @RequestParam String q,
+            @RequestParam Optional<String> cursor,
+            @RequestParam Optional<Integer> size,
+            @RequestParam Optional<Boolean> withAccounts
+    ) {
+        var tasks = taskService.search(q, cursor.orElse(null), size.orElse(10));
+        if (withAccounts.orElse(false)){
+            tasks = new CursorPage<>(taskService.withAccounts(tasks.items()), tasks.nextCursor());
         }
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Suggest Tasks",
+            description = "Endpoint for type-ahead: tasks whose title has a word starting like, or close to, the query, closest first. " +
+                    "Queries shorter than 2 characters return an empty list.",
+            parameters = {
+                    @Parameter(name = "q", description = "What the user has typed so far.", required = true),
+                    @Parameter(name = "size", description = "Optional. Maximum number of suggestions (default 10, at most 20).")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully",
+                            content = @Content(mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = TaskSuggestion.class)))),
+                    @ApiResponse(responseCode = "400", description = "Invalid size specified", content = @Content),
+                    @ApiResponse(responseCode = "503", description = "The query took too long, retry with the next keystroke", content = @Content)
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public ResponseEntity<List<TaskSuggestion>> suggestTasks(
+            @RequestParam String q,
+            @RequestParam Optional<Integer> size
+    ) {
+        return ResponseEntity.ok(taskService.suggest(q, size.orElse(10)));
+    }
+
+    @GetMapping("/counters")
+    @Operation(
+            summary = "Count Tasks",
+            description = "Endpoint to count tasks per status and priority, for one assignee or for all tasks. " +
+                    "Counts are kept up to date on every change, so the cost does not depend on the number of tasks.",
+            parameters = {
+                    @Parameter(name = "assigneeId", description = "Optional. Count only the tasks of this assignee.")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Counts retrieved successfully",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskCounters.class)))
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public ResponseEntity<TaskCounters> countTasks(@RequestParam Optional<Long> assigneeId) {
+        return ResponseEntity.ok(taskService.counters(assigneeId.orElse(null)));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export All Tasks",
+            description = "Endpoint to export every task as newline-delimited JSON, ordered by ID. The response is written while the rows are read. Only administrators can export, and only a few exports run at once.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks exported successfully",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = TaskView.class))),
+                    @ApiResponse(responseCode = "403", description = "User is not an administrator"),
+                    @ApiResponse(responseCode = "503", description = "Too many exports in progress, retry later")
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public void exportTasks(HttpServletResponse response) throws IOException {
+        exportLimiter.acquire();
+        try {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            ObjectWriter writer = objectMapper.writerFor(TaskView.class)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            OutputStream out = response.getOutputStream();
+            taskService.exportAll(task -> {
+                try {
+                    writer.writeValue(out, task);
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } finally {
+            exportLimiter.release();
+        }
+    }
+
     @PutMapping
     @Operation(
             summary = "Update Task",
@@ -236,6 +409,73 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk/change_status")
+    @Operation(
+            summary = "Change Status of Many Tasks",
+            description = "Endpoint to change the status of several tasks of the current author at once",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Task IDs and the target 'taskStatus'",
+                    content = @Content(schema = @Schema(implementation = TaskBulkUpdateRequest.class))
+            ),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Returns updated IDs and the reason each other ID was skipped",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = BulkUpdateResult.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid status or list of IDs specified", content = @Content)
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public ResponseEntity<BulkUpdateResult> changeStatusAll(
+            @RequestBody TaskBulkUpdateRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(taskService.changeStatusAll(request, userDetails));
+    }
+
+    @PostMapping("/bulk/change_priority")
+    @Operation(
+            summary = "Change Priority of Many Tasks",
+            description = "Endpoint to change the priority of several tasks of the current author at once",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Task IDs and the target 'taskPriority'",
+                    content = @Content(schema = @Schema(implementation = TaskBulkUpdateRequest.class))
+            ),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Returns updated IDs and the reason each other ID was skipped",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = BulkUpdateResult.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid priority or list of IDs specified", content = @Content)
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public ResponseEntity<BulkUpdateResult> changePriorityAll(
+            @RequestBody TaskBulkUpdateRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(taskService.changePriorityAll(request, userDetails));
+    }
+
+    @PostMapping("/bulk/assign")
+    @Operation(
+            summary = "Assign Many Tasks",
+            description = "Endpoint to assign several tasks of the current author to one user",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Task IDs and the 'assigneeId'",
+                    content = @Content(schema = @Schema(implementation = TaskBulkUpdateRequest.class))
+            ),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Returns updated IDs and the reason each other ID was skipped",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = BulkUpdateResult.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid list of IDs specified", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Assignee not found", content = @Content)
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public ResponseEntity<BulkUpdateResult> assignAll(
+            @RequestBody TaskBulkUpdateRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(taskService.assignAll(request, userDetails));
+    }
+
     @GetMapping("/author/{accountId}")
     @Operation(
             summary = "Get Tasks by Author",
@@ -245,23 +485,25 @@ public class TaskController {
                     @Parameter(name = "accountId", description = "ID of the author to get tasks for", required = true),
                     @Parameter(name = "page", description = "Optional. Page number (zero-based) to retrieve."),
                     @Parameter(name = "size", description = "Optional. Number of items per page."),
+                    @Parameter(name = "withAccounts", description = "Optional. Embed author and assignee summaries (default false)."),
             },
             responses = {
                     @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
                             content = @Content(mediaType = "application/json",
-                                    schema = @Schema(implementation = Task.class))),
+                                    array = @ArraySchema(schema = @Schema(implementation = TaskView.class)))),
                     @ApiResponse(responseCode = "404", description = "Author not found")
             },
             security = {@SecurityRequirement(name = "BearerJWT")}
     )
-    public ResponseEntity<List<Task>> tasksByAuthor(
+    public ResponseEntity<List<TaskView>> tasksByAuthor(
             @PathVariable Long accountId,
             @RequestParam Optional<Integer> page,
-            @RequestParam Optional<Integer> size)
+            @RequestParam Optional<Integer> size,
+            @RequestParam Optional<Boolean> withAccounts)
     {
         Pageable pageable = PageRequest.of(page.orElse(0), size.orElse(10));
         var tasks = taskService.tasksByAuthor(accountId, pageable);
-        return ResponseEntity.ok(tasks);
+        return ResponseEntity.ok(withAccounts.orElse(false) ? taskService.withAccounts(tasks) : tasks);
     }
 
     @GetMapping("/assignee/{accountId}")
@@ -272,22 +514,24 @@ public class TaskController {
                     @Parameter(name = "accountId", description = "ID of the assignee to get tasks for", required = true),
                     @Parameter(name = "page", description = "Optional. Page number (zero-based) to retrieve."),
                     @Parameter(name = "size", description = "Optional. Number of items per page."),
+                    @Parameter(name = "withAccounts", description = "Optional. Embed author and assignee summaries (default false)."),
             },
             responses = {
                     @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
                             content = @Content(mediaType = "application/json",
-                                    schema = @Schema(implementation = Task.class))),
+                                    array = @ArraySchema(schema = @Schema(implementation = TaskView.class)))),
                     @ApiResponse(responseCode = "404", description = "Assignee not found")
             },
             security = {@SecurityRequirement(name = "BearerJWT")}
     )
-    public ResponseEntity<List<Task>> tasksByAssignee(
+    public ResponseEntity<List<TaskView>> tasksByAssignee(
             @PathVariable Long accountId,
             @RequestParam Optional<Integer> page,
-            @RequestParam Optional<Integer> size)
+            @RequestParam Optional<Integer> size,
+            @RequestParam Optional<Boolean> withAccounts)
     {
         Pageable pageable = PageRequest.of(page.orElse(0), size.orElse(10));
         var tasks = taskService.tasksByAssignee(accountId, pageable);
-        return ResponseEntity.ok(tasks);
+        return ResponseEntity.ok(withAccounts.orElse(false) ? taskService.withAccounts(tasks) : tasks);
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.dm.taskapp.task;
+
+import com.dm.taskapp.task.TaskCounterRepository.CounterKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Periodically compares the task counters with a full count of the task table and rebuilds
+ * them if they drifted, for example after rows were changed with triggers disabled.
+ * The comparison first runs without locks; only if it finds a difference, which may also
+ * be a transaction committing in between, is it repeated with the counter triggers blocked.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskCounterReconciler {
+    private final TaskCounterRepository taskCounterRepository;
+
+    @Transactional
+    @Scheduled(initialDelayString = "${app.counters.reconcile-interval:PT1H}",
+            fixedDelayString = "${app.counters.reconcile-interval:PT1H}")
+    public void reconcile() {
+        if (!taskCounterRepository.tryReconcileLock()){
+            log.debug("Task counter reconciliation is running elsewhere");
+            return;
+        }
+        if (drift() == 0){
+            return;
+        }
+        taskCounterRepository.lock();
+        int drift = drift();
+        if (drift == 0){
+            return;
+        }
+        log.warn("Task counters drifted for {} assignee/status/priority keys, rebuilding them", drift);
+        taskCounterRepository.rebuild();
+    }
+
+    /**
+     * Number of assignee/status/priority keys whose counts differ.
+     */
+    private int drift() {
+        Map<CounterKey, Long> actual = taskCounterRepository.countActual();
+        Map<CounterKey, Long> counted = taskCounterRepository.countSummarized();
+        Set<CounterKey> keys = new HashSet<>(actual.keySet());
+        keys.addAll(counted.keySet());
+        keys.removeIf(key -> Objects.equals(actual.get(key), counted.get(key)));
+        return keys.size();
+    }
+}
@@ -0,0 +1,124 @@
+package com.dm.taskapp.task;
+
+import com.dm.taskapp.task.enums.TaskPriority;
+import com.dm.taskapp.task.enums.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the task_counter summary table, which database triggers keep in step with the task
+ * table (see V6__task_counters.sql). A read touches at most one row per status, priority
+ * and slot of the assignee, however many tasks there are.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskCounterRepository {
+    private static final String COUNTS = "select status, priority, sum(count) from task_counter ";
+    private static final String ACTUAL = "select coalesce(assignee_id, 0), coalesce(status, ''), coalesce(priority, ''), count(*) "
+            + "from task group by 1, 2, 3";
+    private static final String COUNTED = "select assignee_id, status, priority, sum(count) "
+            + "from task_counter group by 1, 2, 3 having sum(count) <> 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskCounters findByAssigneeId(Long assigneeId) {
+        return toCounters(assigneeId, jdbcTemplate.query(
+                COUNTS + "where assignee_id = ? group by status, priority", this::mapCount, assigneeId));
+    }
+
+    public TaskCounters findTotal() {
+        return toCounters(null, jdbcTemplate.query(COUNTS + "group by status, priority", this::mapCount));
+    }
+
+    /**
+     * Counts per assignee, status and priority computed from the task table itself.
+     * Reads every task.
+     */
+    Map<CounterKey, Long> countActual() {
+        return countByKey(ACTUAL);
+    }
+
+    /**
+     * The same counts as {@link #countActual()}, as the summary table holds them.
+     */
+    Map<CounterKey, Long> countSummarized() {
+        return countByKey(COUNTED);
+    }
+
+    /**
+     * Blocks the triggers of other transactions until the current one ends, and waits for
+     * those that already changed the counters to finish. Readers are not blocked.
+     */
+    void lock() {
+        jdbcTemplate.execute("lock table task_counter in share row exclusive mode");
+    }
+
+    /**
+     * Only one instance runs the reconciliation; the lock is released with the transaction.
+     */
+    boolean tryReconcileLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select pg_try_advisory_xact_lock(hashtext('task_counter_reconcile'))", Boolean.class));
+    }
+
+    void rebuild() {
+        jdbcTemplate.update("delete from task_counter");
+        jdbcTemplate.update("insert into task_counter (assignee_id, status, priority, slot, count) "
+                + "select coalesce(assignee_id, 0), coalesce(status, ''), coalesce(priority, ''), (id % 8)::smallint, count(*) "
+                + "from task group by 1, 2, 3, 4");
+    }
+
+    record CounterKey(long assigneeId, String status, String priority) {
+    }
+
+    record Count(String status, String priority, long count) {
+    }
+
+    private Count mapCount(ResultSet rs, int rowNum) throws SQLException {
+        return new Count(rs.getString(1), rs.getString(2), rs.getLong(3));
+    }
+
+    private Map<CounterKey, Long> countByKey(String sql) {
+        Map<CounterKey, Long> counts = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> counts.put(
+                new CounterKey(rs.getLong(1), rs.getString(2), rs.getString(3)), rs.getLong(4)));
+        return counts;
+    }
+
+    private static TaskCounters toCounters(Long assigneeId, List<Count> counts) {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, 0L);
+        }
+        long total = 0;
+        long otherStatus = 0;
+        long otherPriority = 0;
+        for (Count count : counts) {
+            total += count.count();
+            if (TaskStatus.isTaskStatus(count.status())) {
+                byStatus.merge(TaskStatus.valueOf(count.status()), count.count(), Long::sum);
+            } else {
+                otherStatus += count.count();
+            }
+            if (TaskPriority.isPriority(count.priority())) {
+                byPriority.merge(TaskPriority.valueOf(count.priority()), count.count(), Long::sum);
+            } else {
+                otherPriority += count.count();
+            }
+        }
+        return new TaskCounters(assigneeId, total, byStatus, otherStatus, byPriority, otherPriority);
+    }
+}
@@ -0,0 +1,22 @@
+package com.dm.taskapp.task;
+
+import com.dm.taskapp.task.enums.TaskPriority;
+import com.dm.taskapp.task.enums.TaskStatus;
+
+import java.util.Map;
+
+/**
+ * Task counts for the board header, either for one assignee or for all tasks when
+ * {@code assigneeId} is {@code null}. Every status and priority is present, with zero if
+ * there are no such tasks. Tasks whose status or priority is unset or not a known value are
+ * counted in {@code otherStatus} or {@code otherPriority}, so each breakdown adds up to
+ * {@code total}.
+ */
+public record TaskCounters(
+        Long assigneeId,
+        long total,
+        Map<TaskStatus, Long> byStatus,
+        long otherStatus,
+        Map<TaskPriority, Long> byPriority,
+        long otherPriority) {
+}
@@ -0,0 +1,32 @@
+package com.dm.taskapp.task;
+
+import com.dm.taskapp.exceptions.ServiceBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the exports running at once. An export keeps a pooled connection for as long as the
+ * client takes to read the response, so unbounded exports could take the whole pool away
+ * from the other requests. An export over {@code app.export.max-concurrent} is refused
+ * before it opens a transaction.
+ */
+@Component
+public class TaskExportLimiter {
+    private final Semaphore permits;
+
+    public TaskExportLimiter(@Value("${app.export.max-concurrent:2}") int maxConcurrentExports) {
+        this.permits = new Semaphore(maxConcurrentExports);
+    }
+
+    public void acquire() {
+        if (!permits.tryAcquire()){
+            throw new ServiceBusyException("Too many exports in progress, please retry later");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
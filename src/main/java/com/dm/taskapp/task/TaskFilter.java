@@ -0,0 +1,23 @@
+package com.dm.taskapp.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional criteria for task listings. Every criterion that is set narrows the result,
+ * so all of them are combined with AND into one query.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilter {
+    private String status;
+    private String priority;
+    private Long authorId;
+    private Long assigneeId;
+    private Long fromId;
+    private Long toId;
+}
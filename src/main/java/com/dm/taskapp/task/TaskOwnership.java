@@ -0,0 +1,11 @@
+package com.dm.taskapp.task;
+
+/**
+ * Id-only projection of a task, its author and assignee, read from the {@code author_id}
+ * and {@code assignee_id} columns without touching {@code account}.
+ */
+public interface TaskOwnership {
+    Long getId();
+    Long getAuthorId();
+    Long getAssigneeId();
+}
@@ -2,17 +2,75 @@ package com.dm.taskapp.task;
 
 import com.dm.taskapp.task.enums.TaskPriority;
 import com.dm.taskapp.task.enums.TaskStatus;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>{
-    List<Task> findByStatus(TaskStatus status, Pageable pageable);
-    List<Task>findByPriority(TaskPriority priority, Pageable pageable);
-    List<Task> findByAssigneeId(Long id, Pageable pageable);
-    List<Task> findByAuthorId(Long id, Pageable pageable);
-}
\ No newline at end of file
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskViewRepository {
+    String VIEW = "select new com.dm.taskapp.task.TaskView(t.id, t.title, t.description, t.status, t.priority, "
+            + "t.author.id, t.assignee.id, t.version) from Task t ";
+
+    @Query(VIEW + "where t.id = :id")
+    Optional<TaskView> findViewById(Long id);
+
+    /**
+     * Must be consumed inside a transaction: only then does the PostgreSQL driver honour the
+     * fetch size and read the rows through a cursor instead of loading them all at once.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(VIEW + "order by t.id")
+    Stream<TaskView> streamAllViews();
+
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query(VIEW + "where t.assignee.id = :id")
+    List<TaskView> findViewsByAssigneeId(Long id, Pageable pageable);
+
+    @Query(VIEW + "where t.author.id = :id")
+    List<TaskView> findViewsByAuthorId(Long id, Pageable pageable);
+
+    /**
+     * Titles containing a word that starts like, or is close to, the query, nearest first.
+     * Served by the trigram GiST index in distance order.
+     */
+    @Query(value = "select t.id as id, t.title as title from task t " +
+            "where :query <% t.title order by :query <<-> t.title, t.id limit :limit", nativeQuery = true)
+    List<TaskTitle> suggest(String query, int limit);
+
+    @Query("select t.id as id, t.author.id as authorId, t.assignee.id as assigneeId from Task t where t.id in :ids")
+    List<TaskOwnership> findOwnershipByIdIn(Collection<Long> ids);
+
+    /*
+     * The bulk updates below return the ids of the rows they changed, so a task deleted since
+     * its ownership was read is not reported as updated. Being native selects rather than
+     * @Modifying statements, they leave the persistence context alone: bulkUpdate loads no
+     * Task entities that could go stale.
+     */
+    @Transactional
+    @Query(value = "update task set status = :#{#status.name()}, version = version + 1 " +
+            "where id in :ids and author_id = :authorId returning id", nativeQuery = true)
+    List<Long> updateStatus(Collection<Long> ids, Long authorId, TaskStatus status);
+
+    @Transactional
+    @Query(value = "update task set priority = :#{#priority.name()}, version = version + 1 " +
+            "where id in :ids and author_id = :authorId returning id", nativeQuery = true)
+    List<Long> updatePriority(Collection<Long> ids, Long authorId, TaskPriority priority);
+
+    @Transactional
+    @Query(value = "update task set assignee_id = :assigneeId, status = :#{#status.name()}, version = version + 1 " +
+            "where id in :ids and author_id = :authorId returning id", nativeQuery = true)
+    List<Long> updateAssignee(Collection<Long> ids, Long authorId, Long assigneeId, TaskStatus status);
+}
@@ -0,0 +1,33 @@
+package com.dm.taskapp.task;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for search results, which are ordered by rank (descending) and then
+ * by id. It carries both values of the last row returned; the first page starts above any rank.
+ */
+public record TaskSearchCursor(
+        float rank,
+        long id) {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final TaskSearchCursor FIRST = new TaskSearchCursor(Float.POSITIVE_INFINITY, 0L);
+
+    public static String encode(TaskSearchHit lastHit) {
+        String value = lastHit.rank() + ":" + lastHit.task().id();
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskSearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String[] parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split(":", 2);
+            return new TaskSearchCursor(Float.parseFloat(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Wrong cursor");
+        }
+    }
+}
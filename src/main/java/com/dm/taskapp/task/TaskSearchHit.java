@@ -0,0 +1,9 @@
+package com.dm.taskapp.task;
+
+/**
+ * A full-text search result: the task and its relevance to the query.
+ */
+public record TaskSearchHit(
+        TaskView task,
+        float rank) {
+}
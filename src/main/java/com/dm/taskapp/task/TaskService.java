@@ -1,25 +1,39 @@
 package com.dm.taskapp.task;
 
 import com.dm.taskapp.app.ApiResponse;
+import com.dm.taskapp.app.CursorPage;
 import com.dm.taskapp.task.enums.TaskPriority;
 import com.dm.taskapp.task.enums.TaskStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskService {
     Task create(TaskRequest request, UserDetails userDetails);
-    Task read(Long id);
-    List<Task> readAll(Pageable pageable);
-    List<Task> readByStatus(Pageable pageable, String status);
-    List<Task> readByPriority (Pageable pageable, String priority);
+    List<Long> createAll(List<TaskRequest> requests, UserDetails userDetails);
+    TaskView read(Long id);
+    Long readVersion(Long id);
+    CursorPage<TaskView> readAll(String cursor, int size, TaskFilter filter);
+    CursorPage<TaskView> search(String query, String cursor, int size);
+    List<TaskSuggestion> suggest(String query, int size);
+    TaskCounters counters(Long assigneeId);
     Task updateTask(TaskUpdateRequest request, UserDetails userDetails);
     ApiResponse deleteTask(Long taskId, UserDetails userDetails);
     Task assignTask(Long taskId, Long accountId, UserDetails userDetails);
     ApiResponse unsignTask(Long taskId, UserDetails userDetails);
     ApiResponse changeStatus(Long taskId, TaskStatus status, UserDetails userDetails);
     ApiResponse changePriority(Long taskId, TaskPriority priority, UserDetails userDetails);
-    List<Task> tasksByAuthor(Long accountId, Pageable pageable);
-    List<Task> tasksByAssignee(Long accountId, Pageable pageable);
+    BulkUpdateResult changeStatusAll(TaskBulkUpdateRequest request, UserDetails userDetails);
+    BulkUpdateResult changePriorityAll(TaskBulkUpdateRequest request, UserDetails userDetails);
+    BulkUpdateResult assignAll(TaskBulkUpdateRequest request, UserDetails userDetails);
+    List<TaskView> tasksByAuthor(Long accountId, Pageable pageable);
+    List<TaskView> tasksByAssignee(Long accountId, Pageable pageable);
+    List<TaskView> withAccounts(List<TaskView> tasks);
+    Flux<TaskView> streamAll(TaskFilter filter);
+    long exportAll(Consumer<TaskView> consumer);
+    Flux<TaskView> streamByAuthor(Long accountId);
+    Flux<TaskView> streamByAssignee(Long accountId);
 }
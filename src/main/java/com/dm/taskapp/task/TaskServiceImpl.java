@@ -1,23 +1,65 @@
 package com.dm.taskapp.task;
 
+import com.dm.taskapp.account.Account;
+import com.dm.taskapp.account.AccountInfo;
+import com.dm.taskapp.account.AccountMapper;
 import com.dm.taskapp.account.AccountRepository;
+import com.dm.taskapp.activity.TaskAction;
+import com.dm.taskapp.activity.TaskActivity;
 import com.dm.taskapp.app.ApiResponse;
+import com.dm.taskapp.app.Autocomplete;
+import com.dm.taskapp.app.CursorPage;
 import com.dm.taskapp.exceptions.ApiException;
 import com.dm.taskapp.exceptions.InsufficientPermissionsException;
 import com.dm.taskapp.exceptions.ResourceNotFound;
+import com.dm.taskapp.feed.ChangeEvent;
+import com.dm.taskapp.security.AccountPrincipal;
 import com.dm.taskapp.task.enums.TaskPriority;
 import com.dm.taskapp.task.enums.TaskStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.dm.taskapp.activity.TaskAction.ASSIGNED;
+import static com.dm.taskapp.activity.TaskAction.CREATED;
+import static com.dm.taskapp.activity.TaskAction.DELETED;
+import static com.dm.taskapp.activity.TaskAction.PRIORITY_CHANGED;
+import static com.dm.taskapp.activity.TaskAction.STATUS_CHANGED;
+import static com.dm.taskapp.activity.TaskAction.UNASSIGNED;
+import static com.dm.taskapp.activity.TaskAction.UPDATED;
+import static com.dm.taskapp.feed.ChangeType.TASK_CREATED;
+import static com.dm.taskapp.feed.ChangeType.TASK_DELETED;
+import static com.dm.taskapp.feed.ChangeType.TASK_UPDATED;
+import static com.dm.taskapp.task.TaskSpecifications.hasAssignee;
+import static com.dm.taskapp.task.TaskSpecifications.hasAuthor;
+import static com.dm.taskapp.task.TaskSpecifications.hasPriority;
+import static com.dm.taskapp.task.TaskSpecifications.hasStatus;
+import static com.dm.taskapp.task.TaskSpecifications.idAfter;
+import static com.dm.taskapp.task.TaskSpecifications.idFrom;
+import static com.dm.taskapp.task.TaskSpecifications.idTo;
 import static com.dm.taskapp.task.enums.TaskPriority.isPriority;
 import static com.dm.taskapp.task.enums.TaskStatus.isTaskStatus;
 
@@ -25,10 +67,21 @@ import static com.dm.taskapp.task.enums.TaskStatus.isTaskStatus;
 @Service
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService{
+    public static final String TASKS_CACHE = "tasks";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_SIZE = 5000;
+    private static final int MAX_BULK_UPDATE_SIZE = 1000;
     private final TaskRepository taskRepository;
     private final AccountRepository accountRepository;
+    private final AccountMapper accountMapper;
+    private final TaskStreamRepository taskStreamRepository;
+    private final Autocomplete autocomplete;
+    private final TaskCounterRepository taskCounterRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#request.id")
     public Task updateTask(TaskUpdateRequest request, UserDetails userDetails) {
         var task = findTask(request.getId());
         if (isNotCreator(userDetails, task)){
@@ -38,11 +91,15 @@ public class TaskServiceImpl implements TaskService{
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         log.info("Update task with {} id", request.getId());
+        eventPublisher.publishEvent(ChangeEvent.ofTask(TASK_UPDATED, task.getId(), assigneeIdOf(task)));
+        recordActivity(task.getId(), currentAccountId(userDetails), UPDATED, request.getTitle());
 
         return taskRepository.save(task);
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#taskId")
     public ApiResponse deleteTask(Long taskId, UserDetails userDetails) {
         var task = findTask(taskId);
         if (isNotCreator(userDetails, task)){
@@ -51,35 +108,60 @@ public class TaskServiceImpl implements TaskService{
         }
         taskRepository.deleteById(taskId);
         log.info("Delete task with {} id", taskId);
+        eventPublisher.publishEvent(ChangeEvent.ofTask(TASK_DELETED, taskId, assigneeIdOf(task)));
+        recordActivity(taskId, currentAccountId(userDetails), DELETED, null);
 
         return new ApiResponse("You successfully delete task");
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#taskId")
     public Task assignTask(Long taskId, Long accountId, UserDetails userDetails) {
         var account = accountRepository.findById(accountId)
                 .orElseThrow(()-> new ResourceNotFound("Account not found"));
         var task = findTask(taskId);
-        if (isNotCreator(userDetails, task) && !account.getEmail().equals(userDetails.getUsername())){
+        if (isNotCreator(userDetails, task) && !Objects.equals(accountId, currentAccountId(userDetails))){
             throw new InsufficientPermissionsException("Only the author can assign his task to others");
         }
+        eventPublisher.publishEvent(ChangeEvent.ofTask(TASK_UPDATED, taskId, assigneeIdOf(task), accountId));
         task.setAssignee(account);
         task.setStatus(TaskStatus.IN_PROGRESS);
         log.info("Assign task {} -> account {}", taskId, accountId );
+        recordActivity(taskId, currentAccountId(userDetails), ASSIGNED, accountId);
 
         return taskRepository.save(task);
     }
 
-    private static boolean isNotCreator(UserDetails userDetails, Task task) {
-        return !task.getAuthor().getEmail().equals(userDetails.getUsername());
+    /**
+     * Compares ids only. Reading the id of the lazy {@code author} proxy returns the
+     * {@code author_id} column value without loading the account.
+     */
+    private boolean isNotCreator(UserDetails userDetails, Task task) {
+        return !Objects.equals(task.getAuthor().getId(), currentAccountId(userDetails));
+    }
+
+    private static Long assigneeIdOf(Task task) {
+        return task.getAssignee() == null ? null : task.getAssignee().getId();
+    }
+
+    /**
+     * Queued for {@link com.dm.taskapp.activity.TaskActivityLog} once the transaction commits.
+     */
+    private void recordActivity(Long taskId, Long accountId, TaskAction action, Object details) {
+        eventPublisher.publishEvent(TaskActivity.of(taskId, accountId, action, details));
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#taskId")
     public ApiResponse unsignTask(Long taskId, UserDetails userDetails) {
         var task = findTask(taskId);
         if (isNotCreator(userDetails, task)){
             throw new InsufficientPermissionsException("Only the author can remove his task to others");
         }
+        eventPublisher.publishEvent(ChangeEvent.ofTask(TASK_UPDATED, taskId, assigneeIdOf(task)));
+        recordActivity(taskId, currentAccountId(userDetails), UNASSIGNED, assigneeIdOf(task));
         task.setAssignee(null);
         taskRepository.save(task);
         log.info("Unsign task {}", taskId );
@@ -88,23 +170,28 @@ public class TaskServiceImpl implements TaskService{
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#taskId")
     public ApiResponse changeStatus(Long taskId, TaskStatus status, UserDetails userDetails) {
         var task = findTask(taskId);
-        var account = accountRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(()-> new ResourceNotFound("Account not found"));
+        var accountId = currentAccountId(userDetails);
 
-        if (!Objects.equals(account.getId(), task.getAuthor().getId()) && !status.equals(TaskStatus.RESOLVED)){
+        if (!Objects.equals(accountId, task.getAuthor().getId()) && !status.equals(TaskStatus.RESOLVED)){
             throw  new ApiException("Do you not have permissions", HttpStatus.FORBIDDEN);
         }
 
         task.setStatus(status);
         taskRepository.save(task);
         log.info("Task {} changed status", taskId );
+        eventPublisher.publishEvent(ChangeEvent.ofTask(TASK_UPDATED, taskId, assigneeIdOf(task)));
+        recordActivity(taskId, accountId, STATUS_CHANGED, status);
 
         return new ApiResponse("You successfully change status");
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#taskId")
     public ApiResponse changePriority(Long taskId, TaskPriority priority, UserDetails userDetails) {
         var task = findTask(taskId);
         if (isNotCreator(userDetails, task)){
@@ -112,13 +199,110 @@ public class TaskServiceImpl implements TaskService{
         }
         task.setPriority(priority);
         taskRepository.save(task);
+        eventPublisher.publishEvent(ChangeEvent.ofTask(TASK_UPDATED, taskId, assigneeIdOf(task)));
+        recordActivity(taskId, currentAccountId(userDetails), PRIORITY_CHANGED, priority);
 
         return new ApiResponse("You successfully change priority");
     }
 
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = TASKS_CACHE, allEntries = true)
+    public BulkUpdateResult changeStatusAll(TaskBulkUpdateRequest request, UserDetails userDetails) {
+        if (request.getTaskStatus() == null){
+            throw new IllegalArgumentException("Wrong status");
+        }
+        var result = bulkUpdate(request.getIds(), userDetails, STATUS_CHANGED, request.getTaskStatus(), null,
+                (ids, authorId) -> taskRepository.updateStatus(ids, authorId, request.getTaskStatus()));
+        log.info("Tasks {} changed status", result.updated());
+
+        return result;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = TASKS_CACHE, allEntries = true)
+    public BulkUpdateResult changePriorityAll(TaskBulkUpdateRequest request, UserDetails userDetails) {
+        if (request.getTaskPriority() == null){
+            throw new IllegalArgumentException("Wrong priority");
+        }
+        var result = bulkUpdate(request.getIds(), userDetails, PRIORITY_CHANGED, request.getTaskPriority(), null,
+                (ids, authorId) -> taskRepository.updatePriority(ids, authorId, request.getTaskPriority()));
+        log.info("Tasks {} changed priority", result.updated());
+
+        return result;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = TASKS_CACHE, allEntries = true)
+    public BulkUpdateResult assignAll(TaskBulkUpdateRequest request, UserDetails userDetails) {
+        var assigneeId = request.getAssigneeId();
+        if (assigneeId == null || !accountRepository.existsById(assigneeId)){
+            throw new ResourceNotFound("Account not found");
+        }
+        var result = bulkUpdate(request.getIds(), userDetails, ASSIGNED, assigneeId, assigneeId,
+                (ids, authorId) -> taskRepository.updateAssignee(ids, authorId, assigneeId,
+                        TaskStatus.IN_PROGRESS));
+        log.info("Assign tasks {} -> account {}", result.updated(), assigneeId);
+
+        return result;
+    }
+
+    /**
+     * Reads the author of every requested task with one id-only query, reports the ids that
+     * are missing or belong to someone else, and applies the change to the rest with a single
+     * set-based update. The update repeats the author check and returns the ids it changed, so
+     * a task deleted in between is reported as missing rather than updated.
+     * {@code newAssigneeId} is the assignee the update sets, if any, so that their change feed
+     * hears about it; {@code action} and {@code details} go to the activity of every updated task.
+     */
+    private BulkUpdateResult bulkUpdate(List<Long> ids, UserDetails userDetails, TaskAction action,
+                                        Object details, Long newAssigneeId,
+                                        BiFunction<List<Long>, Long, List<Long>> update){
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BULK_UPDATE_SIZE){
+            throw new IllegalArgumentException("Bulk request must contain from 1 to " + MAX_BULK_UPDATE_SIZE + " tasks");
+        }
+        var accountId = currentAccountId(userDetails);
+        var authors = new HashMap<Long, Long>();
+        var assignees = new HashMap<Long, Long>();
+        taskRepository.findOwnershipByIdIn(ids).forEach(ownership -> {
+            authors.put(ownership.getId(), ownership.getAuthorId());
+            assignees.put(ownership.getId(), ownership.getAssigneeId());
+        });
+
+        var permitted = new ArrayList<Long>();
+        var skipped = new LinkedHashMap<Long, String>();
+        for (Long id : new LinkedHashSet<>(ids)){
+            if (!authors.containsKey(id)){
+                skipped.put(id, "The task does not exist");
+            } else if (!Objects.equals(authors.get(id), accountId)){
+                skipped.put(id, "You are not the author of this task");
+            } else {
+                permitted.add(id);
+            }
+        }
+        if (permitted.isEmpty()){
+            return new BulkUpdateResult(permitted, skipped);
+        }
+        var changed = new HashSet<>(update.apply(permitted, accountId));
+        var updated = new ArrayList<Long>();
+        for (Long id : permitted){
+            if (changed.contains(id)){
+                updated.add(id);
+                eventPublisher.publishEvent(ChangeEvent.ofTask(TASK_UPDATED, id, assignees.get(id), newAssigneeId));
+                recordActivity(id, accountId, action, details);
+            } else {
+                skipped.put(id, "The task does not exist");
+            }
+        }
+
+        return new BulkUpdateResult(updated, skipped);
+    }
+
     @Override
     public Task create(TaskRequest request, UserDetails userDetails ) {
-        var account = accountRepository.findByEmail(userDetails.getUsername()).orElseThrow();
+        var account = currentAccount(userDetails);
         var task = Task.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
@@ -127,37 +311,172 @@ public class TaskServiceImpl implements TaskService{
                 .priority(TaskPriority.LOW)
                 .build();
         log.info("Account {} created task", userDetails.getUsername());
+        var created = taskRepository.save(task);
+        eventPublisher.publishEvent(ChangeEvent.ofTask(TASK_CREATED, created.getId()));
+        recordActivity(created.getId(), account.getId(), CREATED, created.getTitle());
 
-        return taskRepository.save(task);
+        return created;
+    }
+
+    /**
+     * Creates all tasks in one transaction. The author is resolved once and, as ids come
+     * from pooled sequence blocks, the inserts go out in JDBC batches.
+     */
+    @Override
+    @Transactional
+    public List<Long> createAll(List<TaskRequest> requests, UserDetails userDetails) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BULK_SIZE){
+            throw new IllegalArgumentException("Bulk request must contain from 1 to " + MAX_BULK_SIZE + " tasks");
+        }
+        var account = currentAccount(userDetails);
+        var tasks = requests.stream()
+                .map(request -> Task.builder()
+                        .title(request.getTitle())
+                        .description(request.getDescription())
+                        .author(account)
+                        .status(TaskStatus.OPEN)
+                        .priority(TaskPriority.LOW)
+                        .build())
+                .toList();
+        var created = taskRepository.saveAll(tasks);
+        var ids = created.stream()
+                .map(Task::getId)
+                .toList();
+        log.info("Account {} created {} tasks", userDetails.getUsername(), ids.size());
+        created.forEach(task -> {
+            eventPublisher.publishEvent(ChangeEvent.ofTask(TASK_CREATED, task.getId()));
+            recordActivity(task.getId(), account.getId(), CREATED, task.getTitle());
+        });
+
+        return ids;
+    }
+
+    /**
+     * Served from the {@value #TASKS_CACHE} cache. Every single-task mutation evicts its entry
+     * and bulk updates clear the cache; the cache manager defers both until the commit. Loading
+     * through the cache ({@code sync}) keeps a row read before such a commit out of it.
+     */
+    @Override
+    @Cacheable(cacheNames = TASKS_CACHE, key = "#id", sync = true)
+    public TaskView read(Long id) {
+        return taskRepository.findViewById(id)
+                .orElseThrow(()-> new ResourceNotFound("The task does not exist"));
+    }
+
+    /**
+     * Version-only lookup for conditional requests.
+     */
+    @Override
+    public Long readVersion(Long id) {
+        return taskRepository.findVersionById(id)
+                .orElseThrow(()-> new ResourceNotFound("The task does not exist"));
     }
 
     @Override
-    public Task read(Long id) {
-        return findTask(id);
+    public CursorPage<TaskView> readAll(String cursor, int size, TaskFilter filter) {
+        checkPageSize(size);
+        var specification = Specification.where(idAfter(TaskCursor.decode(cursor)))
+                .and(hasStatus(toStatus(filter.getStatus())))
+                .and(hasPriority(toPriority(filter.getPriority())))
+                .and(hasAuthor(filter.getAuthorId()))
+                .and(hasAssignee(filter.getAssigneeId()))
+                .and(idFrom(filter.getFromId()))
+                .and(idTo(filter.getToId()));
+
+        List<TaskView> rows = taskRepository.findViews(specification, Sort.by("id"), size + 1);
+        return toPage(rows, size);
     }
 
     @Override
-    public List<Task> readAll(Pageable pageable) {
-        return taskRepository.findAll();
+    public CursorPage<TaskView> search(String query, String cursor, int size) {
+        checkPageSize(size);
+        if (query == null || query.isBlank()){
+            throw new IllegalArgumentException("Search query is required");
+        }
+        List<TaskSearchHit> hits = taskRepository.search(query, TaskSearchCursor.decode(cursor), size + 1);
+        var items = hits.stream()
+                .limit(size)
+                .map(TaskSearchHit::task)
+                .toList();
+        String nextCursor = hits.size() > size ? TaskSearchCursor.encode(hits.get(size - 1)) : null;
+        return new CursorPage<>(items, nextCursor);
     }
 
     @Override
-    public List<Task> readByStatus(Pageable pageable, String status) {
+    @Transactional(readOnly = true)
+    public List<TaskSuggestion> suggest(String query, int size) {
+        autocomplete.checkSize(size);
+        if (autocomplete.isTooShort(query)){
+            return List.of();
+        }
+        autocomplete.applyTimeout();
+        return taskRepository.suggest(query.strip(), size).stream()
+                .map(task -> new TaskSuggestion(task.getId(), task.getTitle()))
+                .toList();
+    }
+
+    @Override
+    public TaskCounters counters(Long assigneeId) {
+        return assigneeId == null
+                ? taskCounterRepository.findTotal()
+                : taskCounterRepository.findByAssigneeId(assigneeId);
+    }
+
+    private static TaskStatus toStatus(String status){
+        if (status == null){
+            return null;
+        }
         if (!isTaskStatus(status)){
             throw new IllegalArgumentException("Wrong status");
         }
-        TaskStatus taskStatus = TaskStatus.valueOf(status.toUpperCase());
-        return taskRepository.findByStatus(taskStatus, pageable);
+        return TaskStatus.valueOf(status.toUpperCase());
     }
 
-    @Override
-    public List<Task> readByPriority(Pageable pageable, String priority) {
+    private static TaskPriority toPriority(String priority){
+        if (priority == null){
+            return null;
+        }
         if (!isPriority(priority)){
             throw new IllegalArgumentException("Wrong priority");
         }
-        TaskPriority taskPriority = TaskPriority.valueOf(priority.toUpperCase());
-        return taskRepository.findByPriority(taskPriority, pageable);
+        return TaskPriority.valueOf(priority.toUpperCase());
+    }
+
+    private static void checkPageSize(int size){
+        if (size < 1 || size > MAX_PAGE_SIZE){
+            throw new IllegalArgumentException("Wrong page size");
+        }
+    }
 
+    /**
+     * Repository queries fetch one row more than requested, so a full extra row
+     * tells us there is a next page without issuing a count query.
+     */
+    private static CursorPage<TaskView> toPage(List<TaskView> rows, int size){
+        if (rows.size() <= size){
+            return new CursorPage<>(rows, null);
+        }
+        var items = rows.subList(0, size);
+        return new CursorPage<>(items, TaskCursor.encode(items.get(size - 1).id()));
+    }
+
+    private Long currentAccountId(UserDetails userDetails){
+        Long id = AccountPrincipal.idOf(userDetails);
+        return id != null ? id : findAccount(userDetails.getUsername()).getId();
+    }
+
+    /**
+     * Returns the caller's account. When the principal already carries the account id this is
+     * a reference that is never loaded, which is all an author foreign key needs.
+     */
+    private Account currentAccount(UserDetails userDetails){
+        Long id = AccountPrincipal.idOf(userDetails);
+        return id != null ? accountRepository.getReferenceById(id) : findAccount(userDetails.getUsername());
+    }
+
+    private Account findAccount(String email){
+        return accountRepository.findByEmail(email)
+                .orElseThrow(()-> new ResourceNotFound("Account not found"));
     }
 
     private Task findTask(Long id){
@@ -166,12 +485,71 @@ public class TaskServiceImpl implements TaskService{
     }
 
     @Override
-    public List<Task> tasksByAuthor(Long accountId, Pageable pageable) {
-        return taskRepository.findByAuthorId(accountId, pageable);
+    public List<TaskView> tasksByAuthor(Long accountId, Pageable pageable) {
+        return taskRepository.findViewsByAuthorId(accountId, pageable);
+    }
+
+    @Override
+    public List<TaskView> tasksByAssignee(Long accountId, Pageable pageable) {
+        return taskRepository.findViewsByAssigneeId(accountId, pageable);
+    }
+
+    /**
+     * Adds author and assignee summaries to the given tasks. The accounts of the whole
+     * list are loaded with a single {@code IN} query.
+     */
+    @Override
+    public List<TaskView> withAccounts(List<TaskView> tasks) {
+        var ids = tasks.stream()
+                .flatMap(task -> Stream.of(task.authorId(), task.assigneeId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()){
+            return tasks;
+        }
+        var accounts = accountRepository.findAllById(ids).stream()
+                .map(accountMapper)
+                .collect(Collectors.toMap(AccountInfo::id, Function.identity()));
+
+        return tasks.stream()
+                .map(task -> task.withAccounts(accounts))
+                .toList();
+    }
+
+    /**
+     * Hands every task to the consumer in id order. Rows are read through a JDBC cursor as
+     * {@link TaskView} projections, so nothing accumulates in the persistence context and
+     * memory stays flat whatever the table size.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<TaskView> consumer) {
+        long count = 0;
+        try (Stream<TaskView> tasks = taskRepository.streamAllViews()){
+            for (var iterator = tasks.iterator(); iterator.hasNext(); count++){
+                consumer.accept(iterator.next());
+            }
+        }
+        log.info("Exported {} tasks", count);
+
+        return count;
+    }
+
+    /**
+     * Validates the filter up front, so a bad value is reported as 400 before streaming starts.
+     */
+    @Override
+    public Flux<TaskView> streamAll(TaskFilter filter) {
+        return taskStreamRepository.findAll(toStatus(filter.getStatus()), toPriority(filter.getPriority()), filter);
+    }
+
+    @Override
+    public Flux<TaskView> streamByAuthor(Long accountId) {
+        return taskStreamRepository.findByAuthorId(accountId);
     }
 
     @Override
-    public List<Task> tasksByAssignee(Long accountId, Pageable pageable) {
-        return taskRepository.findByAssigneeId(accountId, pageable);
+    public Flux<TaskView> streamByAssignee(Long accountId) {
+        return taskStreamRepository.findByAssigneeId(accountId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.dm.taskapp.task;
+
+import com.dm.taskapp.task.enums.TaskPriority;
+import com.dm.taskapp.task.enums.TaskStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Building blocks for dynamic task queries. A {@code null} argument yields a {@code null}
+ * specification, which {@link Specification#and} ignores, so callers can chain them freely.
+ * Author and assignee are matched on the foreign key columns, without joining {@code account}.
+ */
+public final class TaskSpecifications {
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> hasStatus(TaskStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> hasPriority(TaskPriority priority) {
+        return priority == null ? null : (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Task> hasAuthor(Long authorId) {
+        return authorId == null ? null : (root, query, cb) -> cb.equal(root.get("author").get("id"), authorId);
+    }
+
+    public static Specification<Task> hasAssignee(Long assigneeId) {
+        return assigneeId == null ? null : (root, query, cb) -> cb.equal(root.get("assignee").get("id"), assigneeId);
+    }
+
+    public static Specification<Task> idAfter(Long id) {
+        return id == null ? null : (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    public static Specification<Task> idFrom(Long id) {
+        return id == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("id"), id);
+    }
+
+    public static Specification<Task> idTo(Long id) {
+        return id == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("id"), id);
+    }
+}
@@ -0,0 +1,102 @@
+package com.dm.taskapp.task;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(value = "/api/v1/stream/task", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@Tag(name = "Task streaming")
+public class TaskStreamController {
+    private final TaskService taskService;
+
+    @GetMapping
+    @Operation(
+            summary = "Stream All Tasks",
+            description = "Endpoint to stream every matching task as newline-delimited JSON, ordered by ID. All specified filters are combined.",
+            parameters = {
+                    @Parameter(name = "status", description = "Optional. Filter by task status ('OPEN', 'IN_PROGRESS', 'RESOLVED','CLOSE')."),
+                    @Parameter(name = "priority", description = "Optional. Filter by task priority ('LOW', 'HIGH', 'MEDIUM')."),
+                    @Parameter(name = "authorId", description = "Optional. Filter by ID of the task author."),
+                    @Parameter(name = "assigneeId", description = "Optional. Filter by ID of the task assignee."),
+                    @Parameter(name = "fromId", description = "Optional. Lowest task ID to include."),
+                    @Parameter(name = "toId", description = "Optional. Highest task ID to include.")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks streamed successfully",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = TaskView.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid filter specified", content = @Content)
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public Flux<TaskView> streamAllTasks(
+            @RequestParam Optional<String> status,
+            @RequestParam Optional<String> priority,
+            @RequestParam Optional<Long> authorId,
+            @RequestParam Optional<Long> assigneeId,
+            @RequestParam Optional<Long> fromId,
+            @RequestParam Optional<Long> toId
+    ) {
+        var filter = TaskFilter.builder()
+                .status(status.orElse(null))
+                .priority(priority.orElse(null))
+                .authorId(authorId.orElse(null))
+                .assigneeId(assigneeId.orElse(null))
+                .fromId(fromId.orElse(null))
+                .toId(toId.orElse(null))
+                .build();
+        return taskService.streamAll(filter);
+    }
+
+    @GetMapping("/author/{accountId}")
+    @Operation(
+            summary = "Stream Tasks by Author",
+            description = "Endpoint to stream all tasks of a specific author as newline-delimited JSON, ordered by ID",
+            parameters = {
+                    @Parameter(name = "accountId", description = "ID of the author to get tasks for", required = true)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks streamed successfully",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = TaskView.class)))
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public Flux<TaskView> streamTasksByAuthor(@PathVariable Long accountId) {
+        return taskService.streamByAuthor(accountId);
+    }
+
+    @GetMapping("/assignee/{accountId}")
+    @Operation(
+            summary = "Stream Tasks by Assignee",
+            description = "Endpoint to stream all tasks assigned to a specific user as newline-delimited JSON, ordered by ID",
+            parameters = {
+                    @Parameter(name = "accountId", description = "ID of the assignee to get tasks for", required = true)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks streamed successfully",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = TaskView.class)))
+            },
+            security = {@SecurityRequirement(name = "BearerJWT")}
+    )
+    public Flux<TaskView> streamTasksByAssignee(@PathVariable Long accountId) {
+        return taskService.streamByAssignee(accountId);
+    }
+}
@@ -0,0 +1,86 @@
+package com.dm.taskapp.task;
+
+import com.dm.taskapp.task.enums.TaskPriority;
+import com.dm.taskapp.task.enums.TaskStatus;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking task reads over R2DBC. Rows are fetched from a server-side portal
+ * {@value #FETCH_SIZE} at a time, and only as fast as the subscriber requests them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskStreamRepository {
+    static final int FETCH_SIZE = 500;
+    private static final String SELECT = "select id, title, description, status, priority, author_id, assignee_id, version "
+            + "from task ";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<TaskView> findAll(TaskStatus status, TaskPriority priority, TaskFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+        addCondition(conditions, params, "status = :status", "status", status == null ? null : status.name());
+        addCondition(conditions, params, "priority = :priority", "priority", priority == null ? null : priority.name());
+        addCondition(conditions, params, "author_id = :authorId", "authorId", filter.getAuthorId());
+        addCondition(conditions, params, "assignee_id = :assigneeId", "assigneeId", filter.getAssigneeId());
+        addCondition(conditions, params, "id >= :fromId", "fromId", filter.getFromId());
+        addCondition(conditions, params, "id <= :toId", "toId", filter.getToId());
+
+        String where = conditions.isEmpty() ? "" : "where " + String.join(" and ", conditions) + " ";
+        var spec = databaseClient.sql(SELECT + where + "order by id");
+        for (var param : params.entrySet()){
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec.filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(TaskStreamRepository::toView)
+                .all();
+    }
+
+    public Flux<TaskView> findByAuthorId(Long authorId) {
+        return findBy("author_id", authorId);
+    }
+
+    public Flux<TaskView> findByAssigneeId(Long assigneeId) {
+        return findBy("assignee_id", assigneeId);
+    }
+
+    private Flux<TaskView> findBy(String column, Long id) {
+        return databaseClient.sql(SELECT + "where " + column + " = :id order by id")
+                .bind("id", id)
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(TaskStreamRepository::toView)
+                .all();
+    }
+
+    private static void addCondition(List<String> conditions, Map<String, Object> params,
+                                     String condition, String name, Object value) {
+        if (value != null){
+            conditions.add(condition);
+            params.put(name, value);
+        }
+    }
+
+    private static TaskView toView(Readable row) {
+        String status = row.get("status", String.class);
+        String priority = row.get("priority", String.class);
+        return new TaskView(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                status == null ? null : TaskStatus.valueOf(status),
+                priority == null ? null : TaskPriority.valueOf(priority),
+                row.get("author_id", Long.class),
+                row.get("assignee_id", Long.class),
+                row.get("version", Long.class));
+    }
+}
@@ -0,0 +1,6 @@
+package com.dm.taskapp.task;
+
+public record TaskSuggestion(
+        Long id,
+        String title) {
+}
@@ -0,0 +1,9 @@
+package com.dm.taskapp.task;
+
+/**
+ * Projection for the title suggestion query.
+ */
+public interface TaskTitle {
+    Long getId();
+    String getTitle();
+}
@@ -0,0 +1,39 @@
+package com.dm.taskapp.task;
+
+import com.dm.taskapp.account.AccountInfo;
+import com.dm.taskapp.task.enums.TaskPriority;
+import com.dm.taskapp.task.enums.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Map;
+
+/**
+ * Read-only task row for listings. It is built straight from the selected columns by
+ * constructor-expression queries, so no entity, proxy or dirty-checking snapshot is created.
+ * {@code author} and {@code assignee} summaries are only filled in on request.
+ */
+public record TaskView(
+        Long id,
+        String title,
+        String description,
+        @JsonProperty("taskStatus") TaskStatus status,
+        @JsonProperty("taskPriority") TaskPriority priority,
+        Long authorId,
+        Long assigneeId,
+        @JsonIgnore Long version,
+        @JsonInclude(JsonInclude.Include.NON_NULL) AccountInfo author,
+        @JsonInclude(JsonInclude.Include.NON_NULL) AccountInfo assignee) {
+
+    public TaskView(Long id, String title, String description, TaskStatus status, TaskPriority priority,
+                    Long authorId, Long assigneeId, Long version) {
+        this(id, title, description, status, priority, authorId, assigneeId, version, null, null);
+    }
+
+    public TaskView withAccounts(Map<Long, AccountInfo> accounts) {
+        return new TaskView(id, title, description, status, priority, authorId, assigneeId, version,
+                authorId == null ? null : accounts.get(authorId),
+                assigneeId == null ? null : accounts.get(assigneeId));
+    }
+}
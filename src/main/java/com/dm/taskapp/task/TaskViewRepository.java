@@ -0,0 +1,19 @@
+package com.dm.taskapp.task;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskViewRepository {
+    /**
+     * Runs a specification query that selects {@link TaskView} rows instead of entities.
+     */
+    List<TaskView> findViews(Specification<Task> specification, Sort sort, int limit);
+
+    /**
+     * Full-text search over title and description, ordered by rank and then id, starting
+     * after the row the cursor points at.
+     */
+    List<TaskSearchHit> search(String query, TaskSearchCursor after, int limit);
+}
@@ -0,0 +1,82 @@
+package com.dm.taskapp.task;
+
+import com.dm.taskapp.task.enums.TaskPriority;
+import com.dm.taskapp.task.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class TaskViewRepositoryImpl implements TaskViewRepository {
+    /**
+     * Native because JPQL has no {@code @@} operator. The query is parsed with
+     * {@code websearch_to_tsquery}, so users can type quotes, "or" and "-" like in a search engine.
+     */
+    private static final String SEARCH = """
+            select * from (
+                select t.id, t.title, t.description, t.status, t.priority, t.author_id, t.assignee_id, t.version,
+                       ts_rank(t.search_vector, q) as rank
+                from task t, websearch_to_tsquery('simple', :query) q
+                where t.search_vector @@ q
+            ) hit
+            where hit.rank < cast(:rank as real) or (hit.rank = cast(:rank as real) and hit.id > :id)
+            order by hit.rank desc, hit.id
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskView> findViews(Specification<Task> specification, Sort sort, int limit) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(TaskView.class);
+        var root = query.from(Task.class);
+        query.select(cb.construct(TaskView.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("description"),
+                root.get("status"),
+                root.get("priority"),
+                root.get("author").get("id"),
+                root.get("assignee").get("id"),
+                root.get("version")));
+        if (specification != null){
+            var predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null){
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<TaskSearchHit> search(String query, TaskSearchCursor after, int limit) {
+        List<Object[]> rows = entityManager.createNativeQuery(SEARCH, Object[].class)
+                .setParameter("query", query)
+                .setParameter("rank", after.rank())
+                .setParameter("id", after.id())
+                .setMaxResults(limit)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new TaskSearchHit(
+                        new TaskView(
+                                ((Number) row[0]).longValue(),
+                                (String) row[1],
+                                (String) row[2],
+                                row[3] == null ? null : TaskStatus.valueOf((String) row[3]),
+                                row[4] == null ? null : TaskPriority.valueOf((String) row[4]),
+                                row[5] == null ? null : ((Number) row[5]).longValue(),
+                                row[6] == null ? null : ((Number) row[6]).longValue(),
+                                ((Number) row[7]).longValue()),
+                        ((Number) row[8]).floatValue()))
+                .toList();
+    }
+}
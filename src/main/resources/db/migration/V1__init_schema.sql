@@ -0,0 +1,49 @@
+create sequence account_sequence start with 1 increment by 1;
+create sequence task_sequence start with 1 increment by 1;
+create sequence comment_sequence start with 1 increment by 1;
+
+create table account
+(
+    id       bigint not null primary key,
+    name     varchar(255),
+    email    varchar(255) unique,
+    password varchar(255),
+    role     varchar(255) check (role in ('USER', 'ADMIN'))
+);
+
+create table task
+(
+    id          bigint not null primary key,
+    title       varchar(255),
+    description varchar(255),
+    status      varchar(255) check (status in ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'CLOSE')),
+    priority    varchar(255) check (priority in ('HIGH', 'MEDIUM', 'LOW')),
+    author_id   bigint references account (id),
+    assignee_id bigint references account (id)
+);
+
+create table comment
+(
+    id         bigint not null primary key,
+    content    varchar(255),
+    task_id    bigint references task (id) on delete cascade,
+    account_id bigint references account (id)
+);
+
+-- AccountRepository.findByName
+create index account_name_idx on account (name);
+
+-- Task listing (TaskSpecifications): every index ends with id so the keyset
+-- "id > :cursor order by id limit :n" is served straight from the index.
+create index task_status_id_idx on task (status, id);
+create index task_priority_id_idx on task (priority, id);
+-- TaskRepository.findByAuthorId / findByAssigneeId, and the author/assignee filters
+create index task_author_id_idx on task (author_id, id);
+create index task_assignee_id_idx on task (assignee_id, id);
+-- Dashboard combinations: "open HIGH tasks assigned to X" / "created by Y"
+create index task_author_status_priority_id_idx on task (author_id, status, priority, id);
+create index task_assignee_status_priority_id_idx on task (assignee_id, status, priority, id);
+
+-- CommentRepository.findByTaskId / findByAuthorId
+create index comment_task_id_idx on comment (task_id, id);
+create index comment_account_id_idx on comment (account_id, id);
@@ -0,0 +1,4 @@
+-- Must match IdGeneration.BLOCK_SIZE
+alter sequence account_sequence increment by 50;
+alter sequence task_sequence increment by 50;
+alter sequence comment_sequence increment by 50;
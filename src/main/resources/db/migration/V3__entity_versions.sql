@@ -0,0 +1,3 @@
+-- Optimistic lock versions, also used as ETags
+alter table task add column version bigint not null default 0;
+alter table comment add column version bigint not null default 0;
@@ -0,0 +1,10 @@
+-- Full-text search (TaskRepository.search). The vector is a stored generated column, so
+-- Postgres recomputes it on every insert/update of the row (including COPY imports) and
+-- the GIN index is maintained incrementally. 'simple' does no stemming and no stop words,
+-- which suits mixed-language titles. Title matches rank above description matches.
+alter table task add column search_vector tsvector generated always as (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) stored;
+
+create index task_search_vector_idx on task using gin (search_vector);
@@ -0,0 +1,8 @@
+-- Type-ahead suggestions (TaskRepository.suggest, AccountRepository.suggest). GiST rather
+-- than GIN because GiST can return rows already ordered by the <<-> distance, so a
+-- "limit 10" query stops after ten index entries instead of sorting every match.
+create extension if not exists pg_trgm;
+
+create index task_title_trgm_idx on task using gist (title gist_trgm_ops);
+create index account_name_trgm_idx on account using gist (name gist_trgm_ops);
+create index account_email_trgm_idx on account using gist (email gist_trgm_ops);
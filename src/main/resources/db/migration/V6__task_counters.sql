@@ -0,0 +1,64 @@
+-- Task counts per assignee, status and priority (TaskCounterRepository). Statement-level
+-- triggers keep them in the same transaction as every write to task, including bulk
+-- updates and COPY imports, with one grouped upsert per statement. Each key is spread over
+-- 8 slots by task id so concurrent writers of the same key rarely wait on one row; reads
+-- add the slots up. assignee_id 0 stands for unassigned, '' for a missing status/priority.
+create table task_counter
+(
+    assignee_id bigint       not null,
+    status      varchar(255) not null,
+    priority    varchar(255) not null,
+    slot        smallint     not null,
+    count       bigint       not null,
+    primary key (assignee_id, status, priority, slot)
+);
+
+create function task_counter_apply() returns trigger
+    language plpgsql as
+$$
+declare
+    added   constant text := 'select assignee_id, status, priority, id, 1 as delta from new_rows';
+    removed constant text := 'select assignee_id, status, priority, id, -1 as delta from old_rows';
+begin
+    -- The transition tables only exist for the events that define them, hence dynamic SQL
+    execute format($sql$
+        insert into task_counter (assignee_id, status, priority, slot, count)
+        select coalesce(assignee_id, 0), coalesce(status, ''), coalesce(priority, ''), (id %% 8)::smallint, sum(delta)
+        from (%s) d
+        group by 1, 2, 3, 4
+        -- rows whose counted columns did not change cancel out and take no lock
+        having sum(delta) <> 0
+        -- a fixed order keeps concurrent bulk statements from deadlocking each other
+        order by 1, 2, 3, 4
+        on conflict (assignee_id, status, priority, slot)
+            do update set count = task_counter.count + excluded.count
+        $sql$,
+        case tg_op
+            when 'INSERT' then added
+            when 'DELETE' then removed
+            else added || ' union all ' || removed
+        end);
+    return null;
+end;
+$$;
+
+create trigger task_counter_insert
+    after insert on task
+    referencing new table as new_rows
+    for each statement execute function task_counter_apply();
+
+create trigger task_counter_update
+    after update on task
+    referencing old table as old_rows new table as new_rows
+    for each statement execute function task_counter_apply();
+
+create trigger task_counter_delete
+    after delete on task
+    referencing old table as old_rows
+    for each statement execute function task_counter_apply();
+
+-- Counts for the tasks that already exist
+insert into task_counter (assignee_id, status, priority, slot, count)
+select coalesce(assignee_id, 0), coalesce(status, ''), coalesce(priority, ''), (id % 8)::smallint, count(*)
+from task
+group by 1, 2, 3, 4;
@@ -0,0 +1,113 @@
+-- Incremental sync (SyncRepository). Every insert and update stamps the row with the id of
+-- the writing transaction, including bulk updates and COPY imports. Transaction ids only
+-- grow (the 64-bit form never wraps), and unlike a sequence value taken mid-transaction
+-- they let the reader find a safe watermark: every transaction older than the oldest one
+-- still running has committed or rolled back. Rows that existed before get 0.
+alter table task add column change_xid bigint not null default 0;
+alter table comment add column change_xid bigint not null default 0;
+
+create function sync_stamp() returns trigger
+    language plpgsql as
+$$
+begin
+    new.change_xid := pg_current_xact_id()::text::bigint;
+    return new;
+end;
+$$;
+
+create trigger task_sync_stamp
+    before insert or update on task
+    for each row execute function sync_stamp();
+
+create trigger comment_sync_stamp
+    before insert or update on comment
+    for each row execute function sync_stamp();
+
+-- "Tasks changed since": one range per account and role, read in (change_xid, id) order
+create index task_author_change_idx on task (author_id, change_xid, id);
+create index task_assignee_change_idx on task (assignee_id, change_xid, id);
+create index comment_task_change_idx on comment (task_id, change_xid, id);
+
+-- Rows that an account no longer sees: deleted tasks and comments, and tasks taken away
+-- from their assignee. One row per account that saw them. SyncTombstonePurger removes
+-- old rows and moves tombstones_from past them.
+create table sync_tombstone
+(
+    id         bigint generated always as identity primary key,
+    entity     varchar(16) not null check (entity in ('TASK', 'COMMENT')),
+    entity_id  bigint      not null,
+    task_id    bigint      not null,
+    account_id bigint      not null,
+    change_xid bigint      not null default pg_current_xact_id()::text::bigint,
+    created_at timestamptz not null default now()
+);
+
+create index sync_tombstone_account_change_idx on sync_tombstone (account_id, change_xid, id);
+create index sync_tombstone_created_at_idx on sync_tombstone (created_at);
+
+-- Tombstones are complete from this transaction id on; older sync tokens need a full sync
+create table sync_horizon
+(
+    tombstones_from bigint not null
+);
+
+insert into sync_horizon (tombstones_from) values (0);
+
+create function sync_task_deleted() returns trigger
+    language plpgsql as
+$$
+begin
+    insert into sync_tombstone (entity, entity_id, task_id, account_id)
+    select distinct 'TASK', o.id, o.id, a.account_id
+    from old_rows o
+             cross join lateral (values (o.author_id), (o.assignee_id)) a (account_id)
+    where a.account_id is not null;
+    return null;
+end;
+$$;
+
+create function sync_task_reassigned() returns trigger
+    language plpgsql as
+$$
+begin
+    insert into sync_tombstone (entity, entity_id, task_id, account_id)
+    select 'TASK', o.id, o.id, o.assignee_id
+    from old_rows o
+             join new_rows n on n.id = o.id
+    where o.assignee_id is distinct from n.assignee_id
+      and o.assignee_id is distinct from n.author_id
+      and o.assignee_id is not null;
+    return null;
+end;
+$$;
+
+-- Comments removed together with their task need no tombstone of their own: the task is
+-- already gone when the cascade runs, so the join below finds nobody to tell.
+create function sync_comment_deleted() returns trigger
+    language plpgsql as
+$$
+begin
+    insert into sync_tombstone (entity, entity_id, task_id, account_id)
+    select distinct 'COMMENT', o.id, o.task_id, a.account_id
+    from old_rows o
+             join task t on t.id = o.task_id
+             cross join lateral (values (t.author_id), (t.assignee_id)) a (account_id)
+    where a.account_id is not null;
+    return null;
+end;
+$$;
+
+create trigger task_sync_deleted
+    after delete on task
+    referencing old table as old_rows
+    for each statement execute function sync_task_deleted();
+
+create trigger task_sync_reassigned
+    after update on task
+    referencing old table as old_rows new table as new_rows
+    for each statement execute function sync_task_reassigned();
+
+create trigger comment_sync_deleted
+    after delete on comment
+    referencing old table as old_rows
+    for each statement execute function sync_comment_deleted();
@@ -0,0 +1,15 @@
+-- Task history, written in batches by TaskActivityLog after the change committed. There is
+-- no foreign key to task: the history of a deleted task stays, and a batch never fails
+-- because one of its tasks was deleted in the meantime.
+create table task_activity
+(
+    id         bigint generated always as identity primary key,
+    task_id    bigint      not null,
+    account_id bigint,
+    action     varchar(32) not null,
+    details    varchar(255),
+    created_at timestamptz not null
+);
+
+-- TaskActivityRepository.findByTaskId: newest first, keyset on id
+create index task_activity_task_id_idx on task_activity (task_id, id);
@@ -0,0 +1,26 @@
+-- A task that gets a new assignee brings its existing comments along: they are re-stamped
+-- with the reassigning transaction, so they come after the new assignee's sync watermark
+-- together with the task. The author has them already.
+create or replace function sync_task_reassigned() returns trigger
+    language plpgsql as
+$$
+begin
+    insert into sync_tombstone (entity, entity_id, task_id, account_id)
+    select 'TASK', o.id, o.id, o.assignee_id
+    from old_rows o
+             join new_rows n on n.id = o.id
+    where o.assignee_id is distinct from n.assignee_id
+      and o.assignee_id is distinct from n.author_id
+      and o.assignee_id is not null;
+
+    update comment c
+    set change_xid = pg_current_xact_id()::text::bigint
+    from old_rows o
+             join new_rows n on n.id = o.id
+    where c.task_id = n.id
+      and o.assignee_id is distinct from n.assignee_id
+      and n.assignee_id is distinct from n.author_id
+      and n.assignee_id is not null;
+    return null;
+end;
+$$;
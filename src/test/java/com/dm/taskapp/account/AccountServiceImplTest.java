@@ -1,11 +1,15 @@
 package com.dm.taskapp.account;
 
+import com.dm.taskapp.app.Autocomplete;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +25,8 @@ class AccountServiceImplTest {
     private AccountRepository accountRepository;
     @Mock
     private AccountMapper accountMapper;
+    @Spy
+    private Autocomplete autocomplete = new Autocomplete(20, Duration.ofMillis(200), mock(JdbcTemplate.class));
     @InjectMocks
     private AccountServiceImpl accountService;
 
@@ -55,4 +61,30 @@ class AccountServiceImplTest {
         verify(accountRepository, times(1)).findAll();
         verify(accountMapper, times(2)).apply(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void suggest_AppliesTimeoutAndMapsSummaries() {
+        AccountSummary summary = mock(AccountSummary.class);
+        when(summary.getId()).thenReturn(1L);
+        when(summary.getName()).thenReturn(NAME);
+        when(summary.getEmail()).thenReturn(EMAIL);
+        when(accountRepository.suggest("tes", 5)).thenReturn(List.of(summary));
+
+        List<AccountInfo> result = accountService.suggest(" tes ", 5);
+
+        assertEquals(List.of(new AccountInfo(1L, NAME, EMAIL)), result);
+        verify(autocomplete).applyTimeout();
+    }
+
+    @Test
+    void suggest_ShortQuery_ReturnsEmptyList() {
+        assertEquals(List.of(), accountService.suggest("t", 5));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void suggest_WrongSize_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> accountService.suggest("test", 100));
+        verifyNoInteractions(accountRepository);
+    }
+}
@@ -0,0 +1,77 @@
+package com.dm.taskapp.activity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskActivityLogTest {
+    @Mock
+    private TaskActivityRepository taskActivityRepository;
+
+    @Test
+    void queuedEntriesAreWrittenOnShutdown() throws InterruptedException {
+        var written = new ArrayList<TaskActivity>();
+        doAnswer(invocation -> written.addAll(invocation.getArgument(0)))
+                .when(taskActivityRepository).insertAll(anyList());
+        var activityLog = new TaskActivityLog(taskActivityRepository, 100, Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+        for (long id = 1; id <= 10; id++){
+            activityLog.record(TaskActivity.of(id, 7L, TaskAction.CREATED, "title"));
+        }
+        activityLog.start();
+        activityLog.shutdown();
+
+        assertEquals(10, written.size());
+        assertEquals(List.of(1L, 2L, 3L), written.subList(0, 3).stream().map(TaskActivity::taskId).toList());
+    }
+
+    @Test
+    void fullQueueDropsEntries() throws InterruptedException {
+        var written = new ArrayList<TaskActivity>();
+        doAnswer(invocation -> written.addAll(invocation.getArgument(0)))
+                .when(taskActivityRepository).insertAll(anyList());
+        var registry = new SimpleMeterRegistry();
+        var activityLog = new TaskActivityLog(taskActivityRepository, 2, Duration.ofSeconds(5), registry);
+
+        for (long id = 1; id <= 3; id++){
+            activityLog.record(TaskActivity.of(id, 7L, TaskAction.DELETED, null));
+        }
+        assertEquals(2.0, registry.get("activity.queue.size").gauge().value());
+        assertEquals(1.0, registry.get("activity.dropped").tag("reason", "queue-full").counter().count());
+
+        activityLog.start();
+        activityLog.shutdown();
+        assertEquals(List.of(1L, 2L), written.stream().map(TaskActivity::taskId).toList());
+    }
+
+    @Test
+    void failedBatchDoesNotStopTheWriter() throws InterruptedException {
+        var written = new ArrayList<TaskActivity>();
+        doThrow(new IllegalStateException("boom"))
+                .doAnswer(invocation -> written.addAll(invocation.getArgument(0)))
+                .when(taskActivityRepository).insertAll(anyList());
+        var registry = new SimpleMeterRegistry();
+        var activityLog = new TaskActivityLog(taskActivityRepository, 1000, Duration.ofSeconds(5), registry);
+
+        for (long id = 1; id <= TaskActivityLog.MAX_BATCH + 2; id++){
+            activityLog.record(TaskActivity.of(id, 7L, TaskAction.CREATED, "title"));
+        }
+        activityLog.start();
+        activityLog.shutdown();
+
+        assertEquals(TaskActivityLog.MAX_BATCH, registry.get("activity.dropped").tag("reason", "write-failed").counter().count());
+        assertEquals(List.of(TaskActivityLog.MAX_BATCH + 1L, TaskActivityLog.MAX_BATCH + 2L),
+                written.stream().map(TaskActivity::taskId).toList());
+    }
+}
@@ -0,0 +1,53 @@
+package com.dm.taskapp.activity;
+
+import com.dm.taskapp.task.TaskCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskActivityServiceImplTest {
+    @Mock
+    private TaskActivityRepository taskActivityRepository;
+    @InjectMocks
+    private TaskActivityServiceImpl taskActivityService;
+
+    @Test
+    void firstPageStartsAtNewest() {
+        when(taskActivityRepository.findByTaskId(1L, Long.MAX_VALUE, 3))
+                .thenReturn(List.of(activity(30L), activity(20L), activity(10L)));
+
+        var page = taskActivityService.readByTask(1L, null, 2);
+
+        assertEquals(List.of(30L, 20L), page.items().stream().map(TaskActivity::id).toList());
+        assertEquals(TaskCursor.encode(20L), page.nextCursor());
+    }
+
+    @Test
+    void lastPage() {
+        when(taskActivityRepository.findByTaskId(1L, 20L, 3)).thenReturn(List.of(activity(10L)));
+
+        var page = taskActivityService.readByTask(1L, TaskCursor.encode(20L), 2);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void wrongPageSize() {
+        assertThrows(IllegalArgumentException.class, () -> taskActivityService.readByTask(1L, null, 0));
+        verifyNoInteractions(taskActivityRepository);
+    }
+
+    private static TaskActivity activity(Long id) {
+        return new TaskActivity(id, 1L, 7L, TaskAction.UPDATED, "title", Instant.now());
+    }
+}
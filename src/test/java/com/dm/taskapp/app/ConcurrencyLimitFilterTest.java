@@ -0,0 +1,43 @@
+package com.dm.taskapp.app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitFilterTest {
+    private final ConcurrencyLimitFilter filter =
+            new ConcurrencyLimitFilter(0, Duration.ofMillis(10), new ObjectMapper());
+
+    @Test
+    void requestOverTheLimitIsRejected() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/task/1"), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    void streamingAndActuatorRequestsTakeNoPermit() throws Exception {
+        for (String path : new String[]{"/actuator/health", "/api/v1/feed", "/api/v1/stream/task", "/api/v1/task/export"}){
+            FilterChain chain = mock(FilterChain.class);
+            var request = new MockHttpServletRequest("GET", path);
+            var response = new MockHttpServletResponse();
+
+            filter.doFilter(request, response, chain);
+
+            assertEquals(200, response.getStatus(), path);
+            verify(chain).doFilter(request, response);
+        }
+    }
+}
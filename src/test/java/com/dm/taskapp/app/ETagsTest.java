@@ -0,0 +1,24 @@
+package com.dm.taskapp.app;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+    @Test
+    void ofQuotesAndJoinsParts() {
+        assertEquals("\"3\"", ETags.of(3L));
+        assertEquals("\"2-7-null\"", ETags.of(2L, 7L, null));
+    }
+
+    @Test
+    void matchesAnyListedTag() {
+        String etag = ETags.of(3L);
+
+        assertTrue(ETags.matches("\"1\", \"3\"", etag));
+        assertTrue(ETags.matches("W/\"3\"", etag));
+        assertTrue(ETags.matches("*", etag));
+        assertFalse(ETags.matches("\"4\"", etag));
+        assertFalse(ETags.matches(null, etag));
+    }
+}
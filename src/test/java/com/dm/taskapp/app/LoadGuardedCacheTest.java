@@ -0,0 +1,54 @@
+package com.dm.taskapp.app;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache.ValueRetrievalException;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGuardedCacheTest {
+    private final LoadGuardedCache cache = new LoadGuardedCache(
+            new CaffeineCache("tasks", Caffeine.newBuilder().build(), false));
+
+    @Test
+    void loadedValueIsCached() {
+        assertEquals("v1", cache.get(1L, () -> "v1"));
+
+        assertEquals("v1", cache.get(1L, () -> "v2"));
+    }
+
+    @Test
+    void valueLoadedAcrossAnEvictionIsNotCached() {
+        String loaded = cache.get(1L, () -> {
+            // a write commits and evicts while the old row is being read
+            cache.evict(1L);
+            return "old";
+        });
+
+        assertEquals("old", loaded);
+        assertNull(cache.get(1L));
+        assertEquals("new", cache.get(1L, () -> "new"));
+    }
+
+    @Test
+    void valueLoadedAcrossAClearIsNotCached() {
+        cache.get(2L, () -> {
+            cache.clear();
+            return "old";
+        });
+
+        assertNull(cache.get(2L));
+    }
+
+    @Test
+    void failedLoadIsRethrown() {
+        var e = assertThrows(ValueRetrievalException.class,
+                () -> cache.get(1L, () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertNull(cache.get(1L));
+    }
+}
@@ -0,0 +1,49 @@
+package com.dm.taskapp.app;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Virtual-thread mode relies on the PostgreSQL driver not pinning carrier threads: a query
+ * blocked on the socket inside a synchronized method would hold its carrier. Checks that the
+ * classes on the query path guard their state with a {@link ReentrantLock} and declare no
+ * synchronized methods, so a driver upgrade that brings monitors back fails here.
+ */
+class PostgresDriverPinningTest {
+    private static final List<String> QUERY_PATH = List.of(
+            "org.postgresql.jdbc.PgConnection",
+            "org.postgresql.jdbc.PgStatement",
+            "org.postgresql.jdbc.PgPreparedStatement",
+            "org.postgresql.jdbc.PgResultSet",
+            "org.postgresql.core.QueryExecutorBase",
+            "org.postgresql.core.v3.QueryExecutorImpl",
+            "org.postgresql.core.PGStream");
+
+    @Test
+    void queryPathHasNoSynchronizedMethods() throws ClassNotFoundException {
+        for (String name : QUERY_PATH){
+            List<String> synchronizedMethods = Arrays.stream(Class.forName(name).getDeclaredMethods())
+                    .filter(method -> Modifier.isSynchronized(method.getModifiers()))
+                    .map(Method::getName)
+                    .toList();
+            assertEquals(List.of(), synchronizedMethods, name);
+        }
+    }
+
+    @Test
+    void connectionAndExecutorLockWithReentrantLock() throws ClassNotFoundException {
+        for (String name : List.of("org.postgresql.jdbc.PgConnection", "org.postgresql.core.QueryExecutorBase")){
+            assertTrue(Arrays.stream(Class.forName(name).getDeclaredFields())
+                    .map(Field::getType)
+                    .anyMatch(ReentrantLock.class::isAssignableFrom), name);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.dm.taskapp.comment;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentControllerTest {
+    @Mock
+    private CommentService commentService;
+    @InjectMocks
+    private CommentController commentController;
+
+    @Test
+    void unchangedPageIsNotModified() {
+        CommentPageStamp stamp = stamp();
+        when(commentService.stampByTask(1L)).thenReturn(stamp);
+        when(commentService.getByTask(eq(1L), any(Pageable.class))).thenReturn(Page.empty());
+
+        String etag = commentController.getCommentsByTask(1L, Optional.of(0), Optional.of(10), null)
+                .getHeaders().getETag();
+        ResponseEntity<Page<CommentView>> response =
+                commentController.getCommentsByTask(1L, Optional.of(0), Optional.of(10), etag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(commentService, times(1)).getByTask(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void otherPageDoesNotMatchTheTagOfFirstOne() {
+        CommentPageStamp stamp = stamp();
+        when(commentService.stampByTask(1L)).thenReturn(stamp);
+        when(commentService.getByTask(eq(1L), any(Pageable.class))).thenReturn(Page.empty());
+
+        String etag = commentController.getCommentsByTask(1L, Optional.of(0), Optional.of(10), null)
+                .getHeaders().getETag();
+        ResponseEntity<Page<CommentView>> nextPage =
+                commentController.getCommentsByTask(1L, Optional.of(1), Optional.of(10), etag);
+        ResponseEntity<Page<CommentView>> otherSize =
+                commentController.getCommentsByTask(1L, Optional.of(0), Optional.of(20), etag);
+
+        assertEquals(HttpStatus.OK, nextPage.getStatusCode());
+        assertEquals(HttpStatus.OK, otherSize.getStatusCode());
+        assertNotEquals(etag, nextPage.getHeaders().getETag());
+    }
+
+    private static CommentPageStamp stamp() {
+        CommentPageStamp stamp = mock(CommentPageStamp.class);
+        when(stamp.getCount()).thenReturn(25L);
+        when(stamp.getLastId()).thenReturn(40L);
+        when(stamp.getVersionSum()).thenReturn(27L);
+        return stamp;
+    }
+}
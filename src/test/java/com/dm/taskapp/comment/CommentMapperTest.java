@@ -0,0 +1,35 @@
+package com.dm.taskapp.comment;
+
+import com.dm.taskapp.account.Account;
+import com.dm.taskapp.account.AccountMapper;
+import com.dm.taskapp.task.Task;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommentMapperTest {
+    @Test
+    public void apply_ShouldMapCommentToCommentView() {
+        CommentMapper commentMapper = new CommentMapper(new AccountMapper());
+        Account author = Account.builder()
+                .id(1L)
+                .name("test")
+                .email("john@example.com")
+                .password("hash")
+                .build();
+        Comment comment = Comment.builder()
+                .id(5L)
+                .content("text")
+                .task(Task.builder().id(7L).build())
+                .author(author)
+                .build();
+
+        CommentView commentView = commentMapper.apply(comment);
+
+        assertEquals(comment.getId(), commentView.id());
+        assertEquals(comment.getContent(), commentView.content());
+        assertEquals(7L, commentView.taskId());
+        assertEquals(author.getId(), commentView.author().id());
+        assertEquals(author.getName(), commentView.author().name());
+    }
+}
@@ -1,18 +1,25 @@
 package com.dm.taskapp.comment;
 
 import com.dm.taskapp.account.Account;
+import com.dm.taskapp.account.AccountMapper;
 import com.dm.taskapp.account.AccountRepository;
 import com.dm.taskapp.exceptions.ApiException;
+import com.dm.taskapp.feed.ChangeEvent;
+import com.dm.taskapp.feed.ChangeType;
 import com.dm.taskapp.task.Task;
 import com.dm.taskapp.task.TaskRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +34,10 @@ class CommentServiceImplTest {
     private TaskRepository taskRepository;
     @Mock
     private AccountRepository accountRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private CommentMapper commentMapper = new CommentMapper(new AccountMapper());
     @InjectMocks
     private CommentServiceImpl commentService;
 
@@ -45,13 +56,16 @@ class CommentServiceImplTest {
                 .build();
 
         when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
-        when(accountRepository.findByEmail(userDetails.getEmail())).thenReturn(Optional.of(userDetails));
+        when(accountRepository.getReferenceById(userDetails.getId())).thenReturn(userDetails);
         when(commentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
-        Comment addedComment = commentService.add(task.getId(), "text", userDetails);
+        CommentView addedComment = commentService.add(task.getId(), "text", userDetails);
 
         assertNotNull(addedComment);
+        assertEquals(task.getId(), addedComment.taskId());
+        assertEquals(userDetails.getId(), addedComment.author().id());
         verify(commentRepository, times(1)).save(any());
+        verify(accountRepository, never()).findByEmail(any());
     }
 
     @Test
@@ -59,11 +73,12 @@ class CommentServiceImplTest {
         Long taskId = 1L;
         Pageable pageable = mock(Pageable.class);
 
-        when(commentRepository.findByTaskId(taskId, pageable)).thenReturn(mock(Page.class));
+        when(commentRepository.findByTaskId(taskId, pageable)).thenReturn(new PageImpl<>(List.of(pageComment())));
 
-        Page<Comment> comments = commentService.getByTask(taskId, pageable);
+        Page<CommentView> comments = commentService.getByTask(taskId, pageable);
 
-        assertNotNull(comments);
+        assertEquals(1, comments.getContent().size());
+        assertEquals("author", comments.getContent().get(0).author().name());
         verify(commentRepository, times(1)).findByTaskId(taskId, pageable);
     }
 
@@ -72,11 +87,12 @@ class CommentServiceImplTest {
         Long accountId = 1L;
         Pageable pageable = mock(Pageable.class);
 
-        when(commentRepository.findByAuthorId(accountId, pageable)).thenReturn(mock(Page.class));
+        when(commentRepository.findByAuthorId(accountId, pageable)).thenReturn(new PageImpl<>(List.of(pageComment())));
 
-        Page<Comment> comments = commentService.getByAuthor(accountId, pageable);
+        Page<CommentView> comments = commentService.getByAuthor(accountId, pageable);
 
-        assertNotNull(comments);
+        assertEquals(1, comments.getContent().size());
+        assertEquals("author", comments.getContent().get(0).author().name());
         verify(commentRepository, times(1)).findByAuthorId(accountId, pageable);
     }
 
@@ -86,35 +102,46 @@ class CommentServiceImplTest {
                 .id(13L)
                 .email("example@test.com")
                 .build();
-        Comment comment = Comment.builder()
-                .id(1L)
-                .author(userDetails)
-                .build();
+        CommentOwnership ownership = ownership(13L);
+        when(ownership.getTaskId()).thenReturn(5L);
+        when(ownership.getAssigneeId()).thenReturn(7L);
 
-        when(commentRepository.findById(comment.getId())).thenReturn(Optional.of(comment));
-        when(accountRepository.findByEmail(userDetails.getEmail())).thenReturn(Optional.of(userDetails));
+        when(commentRepository.findOwnershipById(1L)).thenReturn(Optional.of(ownership));
 
-        assertDoesNotThrow(() -> commentService.delete(comment.getId(), userDetails));
+        assertDoesNotThrow(() -> commentService.delete(1L, userDetails));
 
-        verify(commentRepository, times(1)).deleteById(comment.getId());
+        verify(commentRepository, times(1)).deleteById(1L);
+        verify(commentRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(ChangeEvent.ofComment(ChangeType.COMMENT_DELETED, 5L, 1L, 7L));
     }
 
     @Test
     void deleteCommentUnauthorized() {
-        Comment comment = Comment.builder()
-                .id(1L)
-                .author(Account.builder().id(999L).build())
-                .build();
+        CommentOwnership ownership = ownership(999L);
         Account userDetails = Account.builder()
                 .id(13L)
                 .build();
 
-        when(commentRepository.findById(comment.getId())).thenReturn(Optional.of(comment));
-        when(accountRepository.findByEmail(userDetails.getUsername())).thenReturn(Optional.of(userDetails));
+        when(commentRepository.findOwnershipById(1L)).thenReturn(Optional.of(ownership));
 
-        ApiException apiException = assertThrows(ApiException.class, () -> commentService.delete(comment.getId(), userDetails));
+        ApiException apiException = assertThrows(ApiException.class, () -> commentService.delete(1L, userDetails));
 
         assertEquals("You not have permissions for delete comment", apiException.getMessage());
-        verify(commentRepository, never()).deleteById(comment.getId());
+        verify(commentRepository, never()).deleteById(1L);
+    }
+
+    private static CommentOwnership ownership(Long authorId) {
+        CommentOwnership ownership = mock(CommentOwnership.class);
+        when(ownership.getAuthorId()).thenReturn(authorId);
+        return ownership;
+    }
+
+    private static Comment pageComment() {
+        return Comment.builder()
+                .id(1L)
+                .content("text")
+                .task(Task.builder().id(1L).build())
+                .author(Account.builder().id(1L).name("author").email("author@test.com").build())
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package com.dm.taskapp.exceptions;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiExceptionHandlerTest {
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    @Test
+    void connectionTimeoutInsideTransactionIsServiceUnavailable() {
+        var timeout = new SQLTransientConnectionException("HikariPool-1 - Connection is not available");
+        var e = new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                new RuntimeException("Unable to acquire JDBC Connection", timeout));
+
+        var response = handler.catchConnectionFailure(e);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void connectionTimeoutOutsideTransactionIsServiceUnavailable() {
+        var e = new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+                new SQLTransientConnectionException("HikariPool-1 - Connection is not available"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, handler.catchConnectionFailure(e).getStatusCode());
+    }
+
+    @Test
+    void otherResourceFailuresAreRethrown() {
+        var e = new DataAccessResourceFailureException("Connection refused", new SQLException("Connection refused"));
+
+        assertSame(e, assertThrows(DataAccessResourceFailureException.class, () -> handler.catchConnectionFailure(e)));
+    }
+}
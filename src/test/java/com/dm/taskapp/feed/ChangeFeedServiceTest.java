@@ -0,0 +1,74 @@
+package com.dm.taskapp.feed;
+
+import com.dm.taskapp.account.AccountRepository;
+import com.dm.taskapp.account.Role;
+import com.dm.taskapp.security.AccountPrincipal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+
+import static com.dm.taskapp.feed.ChangeType.COMMENT_ADDED;
+import static com.dm.taskapp.feed.ChangeType.TASK_UPDATED;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+    private static final AccountPrincipal USER = new AccountPrincipal(7L, "user@test.com", Role.USER);
+
+    @Mock
+    private ChangeFeed changeFeed;
+    @Mock
+    private AccountRepository accountRepository;
+    @InjectMocks
+    private ChangeFeedService changeFeedService;
+
+    @Test
+    void followsGivenTasks() {
+        changeFeedService.subscribe(List.of(1L, 2L), false, USER);
+
+        Predicate<ChangeEvent> filter = capturedFilter();
+        assertTrue(filter.test(ChangeEvent.ofComment(COMMENT_ADDED, 2L, 10L, null)));
+        assertFalse(filter.test(ChangeEvent.ofTask(TASK_UPDATED, 3L, 7L)));
+    }
+
+    @Test
+    void followsTasksAssignedToCaller() {
+        changeFeedService.subscribe(List.of(), true, USER);
+
+        Predicate<ChangeEvent> filter = capturedFilter();
+        assertTrue(filter.test(ChangeEvent.ofTask(TASK_UPDATED, 3L, 5L, 7L)));
+        assertFalse(filter.test(ChangeEvent.ofTask(TASK_UPDATED, 3L, 5L)));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void nothingToFollow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> changeFeedService.subscribe(List.of(), false, USER));
+        verifyNoInteractions(changeFeed);
+    }
+
+    @Test
+    void tooManyTasks() {
+        var taskIds = LongStream.rangeClosed(1, ChangeFeedService.MAX_TASKS + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> changeFeedService.subscribe(taskIds, false, USER));
+        verifyNoInteractions(changeFeed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate<ChangeEvent> capturedFilter() {
+        ArgumentCaptor<Predicate<ChangeEvent>> captor = ArgumentCaptor.forClass(Predicate.class);
+        verify(changeFeed).subscribe(captor.capture());
+        return captor.getValue();
+    }
+}
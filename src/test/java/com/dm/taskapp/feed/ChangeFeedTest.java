@@ -0,0 +1,191 @@
+package com.dm.taskapp.feed;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static com.dm.taskapp.feed.ChangeType.TASK_UPDATED;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeFeedTest {
+    private static final Duration SEND_TIMEOUT = Duration.ofMillis(20);
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final List<BlockingEmitter> emitters = new ArrayList<>();
+    private ChangeFeed feed;
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(BlockingEmitter::release);
+        feed.shutdown();
+    }
+
+    @Test
+    void stalledSendIsEvicted() throws Exception {
+        feed = feed(16, 1, 1);
+        BlockingEmitter emitter = subscribe();
+        emitter.awaitSending();
+
+        stall();
+        feed.evictStalled();
+
+        assertEquals(1, registry.get("feed.evictions").counter().count());
+        assertEquals(0, registry.get("feed.subscribers").gauge().value());
+        assertFalse(emitter.isCompleted());
+
+        emitter.release();
+        emitter.awaitCompleted();
+    }
+
+    @Test
+    void sendWithinTimeoutIsNotEvicted() throws Exception {
+        feed = feed(16, 1, 1);
+        BlockingEmitter emitter = subscribe();
+        emitter.awaitSending();
+
+        feed.evictStalled();
+
+        assertEquals(0, registry.get("feed.evictions").counter().count());
+        assertEquals(1, registry.get("feed.subscribers").gauge().value());
+    }
+
+    @Test
+    void spareSenderThreadsAreCapped() throws Exception {
+        feed = feed(16, 1, 1);
+        BlockingEmitter first = subscribe();
+        first.awaitSending();
+        stall();
+        feed.evictStalled();
+
+        BlockingEmitter second = subscribe();
+        second.awaitSending();
+        stall();
+        feed.evictStalled();
+
+        BlockingEmitter third = subscribe();
+        stall();
+        feed.evictStalled();
+
+        assertEquals(2, registry.get("feed.evictions").counter().count());
+        assertEquals(2, senderThreads());
+        assertFalse(third.isSending());
+
+        first.release();
+        first.awaitCompleted();
+        // the spare thread freed by the first send goes to the second one on the next run
+        feed.evictStalled();
+        third.awaitSending();
+        assertEquals(2, senderThreads());
+
+        second.release();
+        second.awaitCompleted();
+        await(() -> senderThreads() == 1);
+    }
+
+    @Test
+    void closeDuringSendIsCompletedByDrainLoop() throws Exception {
+        feed = feed(1, 1, 1);
+        BlockingEmitter emitter = subscribe();
+        emitter.awaitSending();
+
+        feed.publish(ChangeEvent.ofTask(TASK_UPDATED, 1L, 2L));
+        feed.publish(ChangeEvent.ofTask(TASK_UPDATED, 1L, 2L));
+
+        assertEquals(1, registry.get("feed.evictions").counter().count());
+        assertFalse(emitter.isCompleted());
+
+        emitter.release();
+        emitter.awaitCompleted();
+        assertTrue(emitter.completedBy.startsWith("feed-sender-"));
+    }
+
+    private ChangeFeed feed(int bufferSize, int senderThreads, int spareSenderThreads) {
+        return new ChangeFeed(bufferSize, Duration.ofMinutes(30), senderThreads, spareSenderThreads,
+                SEND_TIMEOUT, registry) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                var emitter = new BlockingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private BlockingEmitter subscribe() {
+        return (BlockingEmitter) feed.subscribe(event -> true);
+    }
+
+    private double senderThreads() {
+        return registry.get("feed.sender.threads").gauge().value();
+    }
+
+    private static void stall() throws InterruptedException {
+        Thread.sleep(2 * SEND_TIMEOUT.toMillis());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()){
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Stands in for a client that stopped reading: every send blocks until released.
+     */
+    private static final class BlockingEmitter extends SseEmitter {
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile String completedBy;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            sending.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void complete() {
+            completedBy = Thread.currentThread().getName();
+            completed.countDown();
+        }
+
+        boolean isSending() {
+            return sending.getCount() == 0;
+        }
+
+        boolean isCompleted() {
+            return completed.getCount() == 0;
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        void awaitSending() throws InterruptedException {
+            assertTrue(sending.await(5, TimeUnit.SECONDS), "send not started");
+        }
+
+        void awaitCompleted() throws InterruptedException {
+            assertTrue(completed.await(5, TimeUnit.SECONDS), "stream not completed");
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.dm.taskapp.imports;
+
+import com.dm.taskapp.account.AccountIdentity;
+import com.dm.taskapp.account.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportServiceImplTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private AccountRepository accountRepository;
+    @InjectMocks
+    private ImportServiceImpl importService;
+
+    private final List<String> copied = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(accountRepository.findAllIdentities()).thenReturn(List.of(
+                identity(1L, "author@test.com"),
+                identity(2L, "assignee@test.com")));
+    }
+
+    @Test
+    void importTasksCopiesValidRowsAndRejectsTheRest() throws Exception {
+        stubCopy();
+        when(jdbcTemplate.queryForList(contains("task_sequence"), eq(Long.class), eq(1))).thenReturn(List.of(101L));
+        String csv = """
+                title,description,status,priority,author_email,assignee_email
+                First,desc,in_progress,high,author@test.com,assignee@test.com
+                ,no title,,,author@test.com,
+                Second,,,,author@test.com,
+                Third,,DONE,,author@test.com,
+                Fourth,,,,nobody@test.com,
+                """;
+
+        ImportReport report = importService.importTasks(new StringReader(csv));
+
+        assertEquals(2, report.imported());
+        assertEquals(3, report.rejected());
+        assertEquals(List.of(
+                new ImportReject(3, "Title is required"),
+                new ImportReject(5, "Wrong status"),
+                new ImportReject(6, "Author account not found")), report.rejects());
+        assertEquals("""
+                "101","First","desc","IN_PROGRESS","HIGH","1","2"
+                "102","Second",,"OPEN","LOW","1",
+                """, copied.get(0));
+    }
+
+    @Test
+    void importTasksWithoutRequiredColumn() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.importTasks(new StringReader("title,description\nFirst,desc\n")));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void importCommentsRejectsMissingTasks() throws Exception {
+        stubCopy();
+        when(jdbcTemplate.queryForList(eq("select id from task where id = any(?)"), eq(Long.class), any(Object.class)))
+                .thenReturn(List.of(10L));
+        when(jdbcTemplate.queryForList(contains("comment_sequence"), eq(Long.class), eq(1))).thenReturn(List.of(51L));
+        String csv = """
+                task_id,author_email,content
+                10,author@test.com,"Hello, world"
+                11,author@test.com,Lost
+                abc,author@test.com,Broken
+                """;
+
+        ImportReport report = importService.importComments(new StringReader(csv));
+
+        assertEquals(1, report.imported());
+        assertEquals(2, report.rejected());
+        assertEquals(List.of(
+                new ImportReject(4, "Wrong task id"),
+                new ImportReject(3, "The task does not exist")), report.rejects());
+        assertEquals("\"51\",\"Hello, world\",\"10\",\"1\"\n", copied.get(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importTasksRejectsOnlyTheRowsTheDatabaseRefuses() throws Exception {
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString(), any(Reader.class))).thenAnswer(invocation -> {
+            Reader reader = invocation.getArgument(1);
+            var data = new StringWriter();
+            reader.transferTo(data);
+            if (data.toString().contains("Refused")){
+                throw new SQLException("check constraint violated");
+            }
+            copied.add(data.toString());
+            return data.toString().chars().filter(c -> c == '\n').count();
+        });
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation -> {
+            try {
+                return ((ConnectionCallback<Long>) invocation.getArgument(0)).doInConnection(connection);
+            } catch (SQLException e) {
+                throw new DataIntegrityViolationException("copy failed", e);
+            }
+        });
+        when(jdbcTemplate.queryForList(contains("task_sequence"), eq(Long.class), eq(1))).thenReturn(List.of(101L));
+        String csv = """
+                title,author_email
+                First,author@test.com
+                Refused,author@test.com
+                Third,author@test.com
+                Fourth,author@test.com
+                Refused,author@test.com
+                """;
+
+        ImportReport report = importService.importTasks(new StringReader(csv));
+
+        assertEquals(3, report.imported());
+        assertEquals(List.of(
+                new ImportReject(3, "Rejected by the database: check constraint violated"),
+                new ImportReject(6, "Rejected by the database: check constraint violated")), report.rejects());
+        assertEquals(List.of(
+                "\"101\",\"First\",,\"OPEN\",\"LOW\",\"1\",\n",
+                "\"103\",\"Third\",,\"OPEN\",\"LOW\",\"1\",\n",
+                "\"104\",\"Fourth\",,\"OPEN\",\"LOW\",\"1\",\n"), copied);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubCopy() throws SQLException, IOException {
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString(), any(Reader.class))).thenAnswer(invocation -> {
+            Reader reader = invocation.getArgument(1);
+            var data = new StringWriter();
+            reader.transferTo(data);
+            copied.add(data.toString());
+            return data.toString().chars().filter(c -> c == '\n').count();
+        });
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> ((ConnectionCallback<Long>) invocation.getArgument(0)).doInConnection(connection));
+    }
+
+    private static AccountIdentity identity(Long id, String email) {
+        return new AccountIdentity() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
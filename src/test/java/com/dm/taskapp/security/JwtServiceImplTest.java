@@ -0,0 +1,76 @@
+package com.dm.taskapp.security;
+
+import com.dm.taskapp.account.Account;
+import com.dm.taskapp.account.Role;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceImplTest {
+    private static final String KEY = "413F4428472B4B6250655368566D5970337336763979244226452948404D6351";
+    private final JwtServiceImpl jwtService = new JwtServiceImpl(KEY, 60_000, 100);
+
+    @Test
+    void generatedTokenIsValidOnRepeatedChecks() {
+        Account account = Account.builder()
+                .email("test@mail.com")
+                .build();
+
+        String token = jwtService.generateToken(account);
+
+        assertEquals("test@mail.com", jwtService.extractUserName(token));
+        assertTrue(jwtService.isTokenValid(token, account));
+        assertTrue(jwtService.isTokenValid(token, account));
+    }
+
+    @Test
+    void tokenOfAnotherUserIsNotValid() {
+        Account author = Account.builder().email("test@mail.com").build();
+        Account other = Account.builder().email("other@mail.com").build();
+
+        String token = jwtService.generateToken(author);
+
+        assertFalse(jwtService.isTokenValid(token, other));
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        Account account = Account.builder().email("test@mail.com").build();
+        String token = jwtService.generateToken(account);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(SignatureException.class, () -> jwtService.extractUserName(tampered));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        JwtServiceImpl expiring = new JwtServiceImpl(KEY, -1_000, 100);
+        String token = expiring.generateToken(Account.builder().email("test@mail.com").build());
+
+        assertThrows(ExpiredJwtException.class, () -> expiring.extractUserName(token));
+    }
+
+    @Test
+    void principalIsBuiltFromClaims() {
+        Account account = Account.builder()
+                .id(7L)
+                .email("test@mail.com")
+                .role(Role.ADMIN)
+                .build();
+
+        AccountPrincipal principal = jwtService.extractPrincipal(jwtService.generateToken(account));
+
+        assertEquals(7L, principal.getId());
+        assertEquals("test@mail.com", principal.getUsername());
+        assertEquals(Role.ADMIN, principal.getRole());
+    }
+
+    @Test
+    void tokenWithoutAccountClaimsHasNoPrincipal() {
+        Account account = Account.builder().email("test@mail.com").build();
+
+        assertNull(jwtService.extractPrincipal(jwtService.generateToken(account)));
+    }
+}
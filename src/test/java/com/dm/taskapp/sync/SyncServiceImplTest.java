@@ -0,0 +1,88 @@
+package com.dm.taskapp.sync;
+
+import com.dm.taskapp.account.AccountRepository;
+import com.dm.taskapp.account.Role;
+import com.dm.taskapp.exceptions.SyncTokenExpiredException;
+import com.dm.taskapp.security.AccountPrincipal;
+import com.dm.taskapp.sync.SyncRepository.Changed;
+import com.dm.taskapp.task.TaskView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SyncServiceImplTest {
+    private static final AccountPrincipal USER = new AccountPrincipal(7L, "user@test.com", Role.USER);
+
+    @Mock
+    private SyncRepository syncRepository;
+    @Mock
+    private AccountRepository accountRepository;
+    @InjectMocks
+    private SyncServiceImpl syncService;
+
+    @Test
+    void fullSyncEndsAtHorizon() {
+        when(syncRepository.currentHorizon()).thenReturn(100L);
+        when(syncRepository.findTasks(7L, SyncPosition.from(0L), 3)).thenReturn(List.of(task(1L, 50L)));
+
+        SyncPage page = syncService.sync(null, 2, USER);
+
+        assertEquals(1, page.tasks().size());
+        assertFalse(page.hasMore());
+        assertEquals(SyncToken.since(100L), SyncToken.decode(page.token()));
+        verify(syncRepository).findTombstones(7L, SyncPosition.from(100L), 3);
+        verify(syncRepository, never()).tombstonesFrom();
+    }
+
+    @Test
+    void nextPageContinuesEachStream() {
+        var from = new SyncToken(90L, SyncPosition.from(40L), new SyncPosition(60L, 3L), SyncPosition.from(80L));
+        when(syncRepository.currentHorizon()).thenReturn(100L);
+        when(syncRepository.findTasks(7L, from.tasks(), 3))
+                .thenReturn(List.of(task(1L, 50L), task(2L, 50L), task(3L, 70L)));
+
+        SyncPage page = syncService.sync(from.encode(), 2, USER);
+
+        assertEquals(List.of(1L, 2L), page.tasks().stream().map(TaskView::id).toList());
+        assertTrue(page.hasMore());
+        assertEquals(new SyncToken(90L, new SyncPosition(50L, 2L), from.comments(), from.deleted()),
+                SyncToken.decode(page.token()));
+    }
+
+    @Test
+    void purgedTombstonesRequireFullSync() {
+        when(syncRepository.currentHorizon()).thenReturn(100L);
+        when(syncRepository.tombstonesFrom()).thenReturn(50L);
+        String token = SyncToken.since(40L).encode();
+
+        assertThrows(SyncTokenExpiredException.class, () -> syncService.sync(token, 10, USER));
+        verify(syncRepository, never()).findTasks(any(), any(), anyInt());
+    }
+
+    @Test
+    void wrongToken() {
+        assertThrows(IllegalArgumentException.class, () -> syncService.sync("garbage", 10, USER));
+    }
+
+    @Test
+    void wrongPageSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> syncService.sync(null, SyncServiceImpl.MAX_PAGE_SIZE + 1, USER));
+        verifyNoInteractions(syncRepository);
+    }
+
+    private static Changed<TaskView> task(Long id, long xid) {
+        return new Changed<>(new SyncPosition(xid, id),
+                new TaskView(id, "title", null, null, null, 7L, null, 0L));
+    }
+}
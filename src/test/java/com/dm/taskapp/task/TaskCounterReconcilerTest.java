@@ -0,0 +1,73 @@
+package com.dm.taskapp.task;
+
+import com.dm.taskapp.task.TaskCounterRepository.CounterKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCounterReconcilerTest {
+    private static final Map<CounterKey, Long> ACTUAL = Map.of(
+            new CounterKey(0L, "OPEN", "LOW"), 3L,
+            new CounterKey(2L, "RESOLVED", "HIGH"), 1L);
+    private static final Map<CounterKey, Long> DRIFTED = Map.of(
+            new CounterKey(0L, "OPEN", "LOW"), 5L);
+
+    @Mock
+    private TaskCounterRepository taskCounterRepository;
+    @InjectMocks
+    private TaskCounterReconciler reconciler;
+
+    @Test
+    void countersInStepAreLeftAlone() {
+        when(taskCounterRepository.tryReconcileLock()).thenReturn(true);
+        when(taskCounterRepository.countActual()).thenReturn(ACTUAL);
+        when(taskCounterRepository.countSummarized()).thenReturn(ACTUAL);
+
+        reconciler.reconcile();
+
+        verify(taskCounterRepository, never()).lock();
+        verify(taskCounterRepository, never()).rebuild();
+    }
+
+    @Test
+    void driftIsRebuiltUnderLock() {
+        when(taskCounterRepository.tryReconcileLock()).thenReturn(true);
+        when(taskCounterRepository.countActual()).thenReturn(ACTUAL);
+        when(taskCounterRepository.countSummarized()).thenReturn(DRIFTED);
+
+        reconciler.reconcile();
+
+        var order = inOrder(taskCounterRepository);
+        order.verify(taskCounterRepository).lock();
+        order.verify(taskCounterRepository).rebuild();
+    }
+
+    @Test
+    void differenceFromConcurrentCommitIsNotRebuilt() {
+        when(taskCounterRepository.tryReconcileLock()).thenReturn(true);
+        when(taskCounterRepository.countActual()).thenReturn(ACTUAL);
+        when(taskCounterRepository.countSummarized()).thenReturn(DRIFTED, ACTUAL);
+
+        reconciler.reconcile();
+
+        verify(taskCounterRepository).lock();
+        verify(taskCounterRepository, never()).rebuild();
+    }
+
+    @Test
+    void skippedWhenRunningElsewhere() {
+        when(taskCounterRepository.tryReconcileLock()).thenReturn(false);
+
+        reconciler.reconcile();
+
+        verify(taskCounterRepository, never()).countActual();
+        verify(taskCounterRepository, never()).rebuild();
+    }
+}
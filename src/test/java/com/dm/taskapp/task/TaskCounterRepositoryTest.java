@@ -0,0 +1,48 @@
+package com.dm.taskapp.task;
+
+import com.dm.taskapp.task.TaskCounterRepository.Count;
+import com.dm.taskapp.task.enums.TaskPriority;
+import com.dm.taskapp.task.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCounterRepositoryTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @InjectMocks
+    private TaskCounterRepository taskCounterRepository;
+
+    @Test
+    void unknownStatusAndPriorityAreCountedSeparately() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(
+                new Count("OPEN", "LOW", 3),
+                new Count("", "HIGH", 2),
+                new Count("ARCHIVED", "", 1)));
+
+        TaskCounters counters = taskCounterRepository.findTotal();
+
+        assertEquals(6, counters.total());
+        assertEquals(3, counters.byStatus().get(TaskStatus.OPEN));
+        assertEquals(3, counters.otherStatus());
+        assertEquals(3, counters.byPriority().get(TaskPriority.LOW));
+        assertEquals(2, counters.byPriority().get(TaskPriority.HIGH));
+        assertEquals(1, counters.otherPriority());
+        assertEquals(counters.total(),
+                counters.byStatus().values().stream().mapToLong(Long::longValue).sum() + counters.otherStatus());
+        assertEquals(counters.total(),
+                counters.byPriority().values().stream().mapToLong(Long::longValue).sum() + counters.otherPriority());
+    }
+}
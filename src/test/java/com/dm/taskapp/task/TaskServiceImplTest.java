@@ -1,20 +1,38 @@
 package com.dm.taskapp.task;
 
 import com.dm.taskapp.account.Account;
+import com.dm.taskapp.account.AccountMapper;
 import com.dm.taskapp.account.AccountRepository;
+import com.dm.taskapp.activity.TaskAction;
+import com.dm.taskapp.activity.TaskActivity;
 import com.dm.taskapp.app.ApiResponse;
+import com.dm.taskapp.app.Autocomplete;
+import com.dm.taskapp.app.CursorPage;
+import com.dm.taskapp.exceptions.InsufficientPermissionsException;
 import com.dm.taskapp.exceptions.ResourceNotFound;
+import com.dm.taskapp.feed.ChangeEvent;
+import com.dm.taskapp.feed.ChangeType;
 import com.dm.taskapp.task.enums.TaskPriority;
+import com.dm.taskapp.task.enums.TaskStatus;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.data.domain.Page;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,6 +43,12 @@ class TaskServiceImplTest {
     private  TaskRepository taskRepository;
     @Mock
     private  AccountRepository accountRepository;
+    @Spy
+    private AccountMapper accountMapper = new AccountMapper();
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private Autocomplete autocomplete = new Autocomplete(20, Duration.ofMillis(200), mock(JdbcTemplate.class));
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -46,7 +70,7 @@ class TaskServiceImplTest {
                 .build();
 
         when(taskRepository.save(any(Task.class))).thenReturn(task);
-        when(accountRepository.findByEmail(principal.getEmail())).thenReturn(Optional.of(principal));
+        when(accountRepository.getReferenceById(principal.getId())).thenReturn(principal);
 
         Task expected = taskService.create(request, principal);
 
@@ -55,12 +79,43 @@ class TaskServiceImplTest {
         verify(taskRepository).save(any(Task.class));
     }
 
+    @Test
+    void createAllResolvesAuthorOnce() {
+        Account principal = Account.builder()
+                .id(13L)
+                .email("example@email.com")
+                .build();
+        List<TaskRequest> requests = List.of(
+                TaskRequest.builder().title("first").description("d").build(),
+                TaskRequest.builder().title("second").description("d").build());
+        List<Task> saved = List.of(Task.builder().id(1L).build(), Task.builder().id(2L).build());
+
+        when(accountRepository.getReferenceById(principal.getId())).thenReturn(principal);
+        when(taskRepository.saveAll(anyList())).thenReturn(saved);
+
+        List<Long> ids = taskService.createAll(requests, principal);
+
+        assertEquals(List.of(1L, 2L), ids);
+        verify(accountRepository, times(1)).getReferenceById(principal.getId());
+        verify(accountRepository, never()).findByEmail(any());
+        verify(taskRepository, times(1)).saveAll(anyList());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void createAllEmptyRequest() {
+        Account principal = Account.builder().id(13L).build();
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.createAll(List.of(), principal));
+        verifyNoInteractions(taskRepository);
+    }
+
     @Test
     void findById() {
-        Task task = mock(Task.class);
-        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        TaskView task = view(1L);
+        when(taskRepository.findViewById(task.id())).thenReturn(Optional.of(task));
 
-        Task expected = taskService.read(task.getId());
+        TaskView expected = taskService.read(task.id());
 
         assertEquals(expected, task);
     }
@@ -96,6 +151,50 @@ class TaskServiceImplTest {
         assertEquals(expected, task);
     }
 
+    @Test
+    void updateTaskChecksAuthorByIdWithoutLoadingIt() {
+        TaskUpdateRequest request = TaskUpdateRequest.builder()
+                .id(1L)
+                .title("newTitle")
+                .description("newDescription")
+                .build();
+        Account principal = Account.builder()
+                .id(1L)
+                .email("test@mail.com")
+                .build();
+        Account author = mock(Account.class);
+        Task task = Task.builder()
+                .id(1L)
+                .author(author)
+                .build();
+
+        when(author.getId()).thenReturn(1L);
+        when(taskRepository.findById(request.getId())).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        taskService.updateTask(request, principal);
+
+        verify(author, never()).getEmail();
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void deleteTaskOfAnotherAuthor() {
+        Account principal = Account.builder()
+                .id(1L)
+                .email("test@mail.com")
+                .build();
+        Task task = Task.builder()
+                .id(1L)
+                .author(Account.builder().id(2L).email("test@mail.com").build())
+                .build();
+
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+
+        assertThrows(InsufficientPermissionsException.class, () -> taskService.deleteTask(task.getId(), principal));
+        verify(taskRepository, never()).deleteById(any());
+    }
+
     @Test
     void deleteTask() {
         Account userDetails = Account.builder()
@@ -140,6 +239,9 @@ class TaskServiceImplTest {
         verify(taskRepository, times(1)).save(any(Task.class));
         assertEquals("You successfully unsign task", result.getMessage());
         assertNull(task.getAssignee());
+        verify(eventPublisher).publishEvent(ChangeEvent.ofTask(ChangeType.TASK_UPDATED, taskId, 123L));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskActivity activity
+                && activity.action() == TaskAction.UNASSIGNED && "123".equals(activity.details())));
     }
 
     @Test
@@ -189,41 +291,46 @@ class TaskServiceImplTest {
     @Test
     void readTaskFound() {
         long taskId = 1L;
-        Task task = Task.builder()
-                .id(taskId)
-                .title("Test Task")
-                .description("Test Description")
-                .build();
+        TaskView task = view(taskId);
 
-        when(taskRepository.findById(taskId)).thenReturn(java.util.Optional.of(task));
+        when(taskRepository.findViewById(taskId)).thenReturn(java.util.Optional.of(task));
 
-        Task result = taskService.read(taskId);
+        TaskView result = taskService.read(taskId);
 
-        verify(taskRepository, times(1)).findById(taskId);
+        verify(taskRepository, times(1)).findViewById(taskId);
+        verify(taskRepository, never()).findById(taskId);
         assertEquals(task, result);
     }
 
+    @Test
+    void readVersion() {
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+
+        assertEquals(4L, taskService.readVersion(1L));
+        verify(taskRepository, never()).findViewById(any());
+    }
+
     @Test
     void readTaskNotFound() {
         long taskId = 1L;
 
-        when(taskRepository.findById(taskId)).thenReturn(java.util.Optional.empty());
+        when(taskRepository.findViewById(taskId)).thenReturn(java.util.Optional.empty());
 
         assertThrows(ResourceNotFound.class, () -> taskService.read(taskId));
-        verify(taskRepository, times(1)).findById(taskId);
+        verify(taskRepository, times(1)).findViewById(taskId);
     }
 
     @Test
     void tasksByAuthor() {
         long accountId = 1L;
         Pageable pageable = Pageable.unpaged();
-        List<Task> expectedPage = mock(List.class);
+        List<TaskView> expectedPage = mock(List.class);
 
-        when(taskRepository.findByAuthorId(accountId, pageable)).thenReturn(expectedPage);
+        when(taskRepository.findViewsByAuthorId(accountId, pageable)).thenReturn(expectedPage);
 
-        List<Task> result = taskService.tasksByAuthor(accountId, pageable);
+        List<TaskView> result = taskService.tasksByAuthor(accountId, pageable);
 
-        verify(taskRepository, times(1)).findByAuthorId(accountId, pageable);
+        verify(taskRepository, times(1)).findViewsByAuthorId(accountId, pageable);
         assertEquals(expectedPage, result);
     }
 
@@ -231,13 +338,183 @@ class TaskServiceImplTest {
     void tasksByAssignee() {
         long accountId = 1L;
         Pageable pageable = Pageable.unpaged();
-        List<Task> expectedPage = mock(List.class);
+        List<TaskView> expectedPage = mock(List.class);
 
-        when(taskRepository.findByAssigneeId(accountId, pageable)).thenReturn(expectedPage);
+        when(taskRepository.findViewsByAssigneeId(accountId, pageable)).thenReturn(expectedPage);
 
-        List<Task> result = taskService.tasksByAssignee(accountId, pageable);
+        List<TaskView> result = taskService.tasksByAssignee(accountId, pageable);
 
-        verify(taskRepository, times(1)).findByAssigneeId(accountId, pageable);
+        verify(taskRepository, times(1)).findViewsByAssigneeId(accountId, pageable);
         assertEquals(expectedPage, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void readAllReturnsNextCursorWhenMoreRows() {
+        List<TaskView> rows = List.of(view(1L), view(2L), view(3L));
+
+        when(taskRepository.findViews(any(Specification.class), any(Sort.class), eq(3))).thenReturn(rows);
+
+        CursorPage<TaskView> result = taskService.readAll(null, 2, new TaskFilter());
+
+        assertEquals(2, result.items().size());
+        assertEquals(TaskCursor.encode(2L), result.nextCursor());
+    }
+
+    @Test
+    void readAllLastPageHasNoCursor() {
+        List<TaskView> rows = List.of(view(3L));
+        TaskFilter filter = TaskFilter.builder()
+                .status("open")
+                .priority("HIGH")
+                .assigneeId(7L)
+                .build();
+
+        when(taskRepository.findViews(any(Specification.class), any(Sort.class), eq(3))).thenReturn(rows);
+
+        CursorPage<TaskView> result = taskService.readAll(TaskCursor.encode(2L), 2, filter);
+
+        assertEquals(rows, result.items());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void withAccountsLoadsAllAccountsAtOnce() {
+        Account author = Account.builder().id(1L).name("author").email("author@mail.com").build();
+        Account assignee = Account.builder().id(2L).name("assignee").email("assignee@mail.com").build();
+        List<TaskView> tasks = List.of(
+                view(1L),
+                new TaskView(2L, "title", "description", TaskStatus.IN_PROGRESS, TaskPriority.LOW, 1L, 2L, 0L));
+
+        when(accountRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(author, assignee));
+
+        List<TaskView> result = taskService.withAccounts(tasks);
+
+        assertEquals("author", result.get(0).author().name());
+        assertNull(result.get(0).assignee());
+        assertEquals("assignee", result.get(1).assignee().name());
+        verify(accountRepository, times(1)).findAllById(any());
+        verifyNoMoreInteractions(accountRepository);
+    }
+
+    @Test
+    void exportAllStreamsEveryTask() {
+        List<TaskView> exported = new ArrayList<>();
+
+        when(taskRepository.streamAllViews()).thenReturn(Stream.of(view(1L), view(2L)));
+
+        long count = taskService.exportAll(exported::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of(view(1L), view(2L)), exported);
+        verify(taskRepository, never()).findAll();
+    }
+
+    @Test
+    void searchContinuesAfterRankAndId() {
+        List<TaskSearchHit> hits = List.of(
+                new TaskSearchHit(view(5L), 0.6f),
+                new TaskSearchHit(view(2L), 0.3f),
+                new TaskSearchHit(view(4L), 0.3f));
+        String cursor = TaskSearchCursor.encode(new TaskSearchHit(view(9L), 0.9f));
+
+        when(taskRepository.search("fix login", new TaskSearchCursor(0.9f, 9L), 3)).thenReturn(hits);
+
+        CursorPage<TaskView> result = taskService.search("fix login", cursor, 2);
+
+        assertEquals(List.of(view(5L), view(2L)), result.items());
+        assertEquals(new TaskSearchCursor(0.3f, 2L), TaskSearchCursor.decode(result.nextCursor()));
+    }
+
+    @Test
+    void searchBlankQuery() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.search(" ", null, 10));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void suggestReturnsTitlesWithinTimeout() {
+        TaskTitle title = mock(TaskTitle.class);
+        when(title.getId()).thenReturn(3L);
+        when(title.getTitle()).thenReturn("Fix login page");
+        when(taskRepository.suggest("log", 10)).thenReturn(List.of(title));
+
+        List<TaskSuggestion> result = taskService.suggest("log", 10);
+
+        assertEquals(List.of(new TaskSuggestion(3L, "Fix login page")), result);
+        verify(autocomplete).applyTimeout();
+    }
+
+    @Test
+    void readAllWrongCursor() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.readAll("not a cursor", 10, new TaskFilter()));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void readAllWrongStatus() {
+        TaskFilter filter = TaskFilter.builder().status("DONE").build();
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.readAll(null, 10, filter));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void changeStatusAllSkipsForeignAndMissingTasks() {
+        Account principal = Account.builder()
+                .id(1L)
+                .email("test@mail.com")
+                .build();
+        TaskBulkUpdateRequest request = TaskBulkUpdateRequest.builder()
+                .ids(List.of(1L, 2L, 3L))
+                .taskStatus(TaskStatus.CLOSE)
+                .build();
+        TaskOwnership own = ownership(1L, 1L);
+        TaskOwnership foreign = ownership(2L, 42L);
+
+        when(taskRepository.findOwnershipByIdIn(request.getIds())).thenReturn(List.of(own, foreign));
+        when(taskRepository.updateStatus(List.of(1L), 1L, TaskStatus.CLOSE)).thenReturn(List.of(1L));
+
+        BulkUpdateResult result = taskService.changeStatusAll(request, principal);
+
+        assertEquals(List.of(1L), result.updated());
+        assertEquals(Map.of(2L, "You are not the author of this task", 3L, "The task does not exist"), result.skipped());
+        verify(taskRepository, times(1)).updateStatus(List.of(1L), 1L, TaskStatus.CLOSE);
+    }
+
+    @Test
+    void changePriorityAllSkipsTasksDeletedBeforeUpdate() {
+        Account principal = Account.builder()
+                .id(1L)
+                .email("test@mail.com")
+                .build();
+        TaskBulkUpdateRequest request = TaskBulkUpdateRequest.builder()
+                .ids(List.of(1L, 2L))
+                .taskPriority(TaskPriority.HIGH)
+                .build();
+        TaskOwnership first = ownership(1L, 1L);
+        TaskOwnership second = ownership(2L, 1L);
+
+        when(taskRepository.findOwnershipByIdIn(request.getIds())).thenReturn(List.of(first, second));
+        when(taskRepository.updatePriority(List.of(1L, 2L), 1L, TaskPriority.HIGH)).thenReturn(List.of(2L));
+
+        BulkUpdateResult result = taskService.changePriorityAll(request, principal);
+
+        assertEquals(List.of(2L), result.updated());
+        assertEquals(Map.of(1L, "The task does not exist"), result.skipped());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ChangeEvent change
+                && change.taskId().equals(2L)));
+        verify(eventPublisher, never()).publishEvent(argThat((Object event) -> event instanceof ChangeEvent change
+                && change.taskId().equals(1L)));
+    }
+
+    private static TaskOwnership ownership(Long id, Long authorId) {
+        TaskOwnership ownership = mock(TaskOwnership.class);
+        when(ownership.getId()).thenReturn(id);
+        when(ownership.getAuthorId()).thenReturn(authorId);
+        return ownership;
+    }
+
+    private static TaskView view(Long id) {
+        return new TaskView(id, "title", "description", TaskStatus.OPEN, TaskPriority.LOW, 1L, null, 0L);
+    }
+}